@@ -0,0 +1,174 @@
+package benchmarks;
+
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import levels.CollisionGrid;
+import levels.Level;
+import mainn.Game;
+import utilz.HelpMethods;
+import utilz.LoadSave;
+
+// collision and level helpers from HelpMethods, run against the real level
+// pngs and against synthetic wide levels. each call takes the next of a fixed
+// set of pre-generated hitboxes so branch patterns stay realistic.
+// run with: ant bench (reports ns/op, and allocation rate through -prof gc)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBenchmark {
+
+	private static final int QUERIES = 1024;
+
+	@Param({ "1", "2", "3", "4", "5", "6", "synthetic-1000", "synthetic-20000" })
+	public String level;
+
+	private CollisionGrid lvlData;
+	private Rectangle2D.Float[] hitboxes = new Rectangle2D.Float[QUERIES];
+	private Rectangle2D.Float[] targets = new Rectangle2D.Float[QUERIES];
+	private float[] xSpeeds = new float[QUERIES];
+	private int[] tileYs = new int[QUERIES];
+	private int[] spanStarts = new int[QUERIES];
+	private int[] spanEnds = new int[QUERIES];
+	private int next;
+
+	@Setup
+	public void setup() {
+		if (level.startsWith("synthetic-"))
+			lvlData = CollisionGrid.FromTiles(SyntheticLevel(Integer.parseInt(level.substring("synthetic-".length())), 42));
+		else
+			lvlData = LoadLevel(Integer.parseInt(level));
+
+		int tilesWide = lvlData.getTilesWide();
+		int tilesHigh = lvlData.getTilesHigh();
+		Random rnd = new Random(7);
+		for (int i = 0; i < QUERIES; i++) {
+			hitboxes[i] = RandomHitbox(rnd, tilesWide, tilesHigh);
+			// sight checks only happen within a screen of the enemy
+			targets[i] = RandomHitbox(rnd, tilesWide, tilesHigh);
+			float maxX = tilesWide * Game.TILES_SIZE - targets[i].width - 2;
+			targets[i].x = Math.max(0, Math.min(maxX, hitboxes[i].x + (rnd.nextFloat() * 2 - 1) * Game.GAME_WIDTH));
+			targets[i].y = hitboxes[i].y;
+			xSpeeds[i] = (rnd.nextBoolean() ? 1 : -1) * Game.SCALE * (0.35f + rnd.nextFloat());
+			tileYs[i] = 1 + rnd.nextInt(tilesHigh - 2);
+			int a = rnd.nextInt(tilesWide);
+			int b = Math.min(tilesWide - 1, a + rnd.nextInt(Game.TILES_IN_WIDTH));
+			spanStarts[i] = a;
+			spanEnds[i] = b;
+		}
+	}
+
+	private int nextIndex() {
+		next = (next + 1) & (QUERIES - 1);
+		return next;
+	}
+
+	@Benchmark
+	public boolean canMoveHere() {
+		Rectangle2D.Float h = hitboxes[nextIndex()];
+		return HelpMethods.CanMoveHere(h.x, h.y, h.width, h.height, lvlData);
+	}
+
+	@Benchmark
+	public boolean isSolid() {
+		Rectangle2D.Float h = hitboxes[nextIndex()];
+		return HelpMethods.IsSolid(h.x, h.y, lvlData);
+	}
+
+	@Benchmark
+	public boolean isEntityOnFloor() {
+		return HelpMethods.IsEntityOnFloor(hitboxes[nextIndex()], lvlData);
+	}
+
+	@Benchmark
+	public boolean isFloorWithSpeed() {
+		int i = nextIndex();
+		return HelpMethods.IsFloor(hitboxes[i], xSpeeds[i], lvlData);
+	}
+
+	@Benchmark
+	public boolean isFloor() {
+		return HelpMethods.IsFloor(hitboxes[nextIndex()], lvlData);
+	}
+
+	@Benchmark
+	public boolean isSightClear() {
+		int i = nextIndex();
+		return HelpMethods.IsSightClear(lvlData, hitboxes[i], targets[i], tileYs[i]);
+	}
+
+	@Benchmark
+	public boolean isAllTilesWalkable() {
+		int i = nextIndex();
+		return HelpMethods.IsAllTilesWalkable(spanStarts[i], spanEnds[i], tileYs[i], lvlData);
+	}
+
+	// a hitbox the size of an enemy, placed anywhere inside the level bounds
+	private static Rectangle2D.Float RandomHitbox(Random rnd, int tilesWide, int tilesHigh) {
+		float w = 22 * Game.SCALE;
+		float h = 19 * Game.SCALE;
+		float x = rnd.nextFloat() * (tilesWide * Game.TILES_SIZE - w - 2);
+		float y = rnd.nextFloat() * (tilesHigh * Game.TILES_SIZE - h - 2);
+		return new Rectangle2D.Float(x, y, w, h);
+	}
+
+	private static CollisionGrid LoadLevel(int number) {
+		BufferedImage img = LoadSave.GetLevelImage(number);
+		if (img == null)
+			throw new IllegalArgumentException("No level " + number);
+		return new Level(img).getCollisionGrid();
+	}
+
+	// ground with gaps and water, floating platforms and walls, in roughly the
+	// proportions of the hand-made levels
+	public static int[][] SyntheticLevel(int tilesWide, long seed) {
+		Random rnd = new Random(seed);
+		int tilesHigh = Game.TILES_IN_HEIGHT;
+		int[][] data = new int[tilesHigh][tilesWide];
+		for (int[] row : data)
+			Arrays.fill(row, 11);
+
+		int x = 0;
+		while (x < tilesWide) {
+			int run = 3 + rnd.nextInt(12);
+			boolean gap = x > 0 && rnd.nextInt(6) == 0;
+			for (int i = x; i < Math.min(tilesWide, x + run); i++) {
+				if (gap) {
+					data[tilesHigh - 2][i] = 48;
+					data[tilesHigh - 1][i] = 49;
+				} else
+					for (int y = tilesHigh - 3; y < tilesHigh; y++)
+						data[y][i] = y == tilesHigh - 3 ? 1 : 13;
+			}
+			if (!gap && rnd.nextInt(3) == 0) {
+				int py = 4 + rnd.nextInt(tilesHigh - 8);
+				for (int i = x; i < Math.min(tilesWide, x + 3); i++)
+					data[py][i] = 2;
+			}
+			x += gap ? Math.min(run, 3) : run;
+		}
+		for (int y = 0; y < tilesHigh; y++) {
+			data[y][0] = 3;
+			data[y][tilesWide - 1] = 3;
+		}
+		return data;
+	}
+}
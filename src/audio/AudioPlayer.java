@@ -30,9 +30,18 @@ public class AudioPlayer {
 	private int currentSongId;
 	private float volume = 0.5f;
 	private boolean songMute, effectMute;
+	private boolean silent;
 	private Random rand = new Random();
 
 	public AudioPlayer() {
+		this(false);
+	}
+
+	// a silent player loads no clips and ignores every call (headless runs)
+	public AudioPlayer(boolean silent) {
+		this.silent = silent;
+		if (silent)
+			return;
 		loadSongs();
 		loadEffects();
 		playSong(MENU_1);
@@ -83,6 +92,8 @@ public class AudioPlayer {
         
 
 	public void stopSong() {
+		if (silent)
+			return;
 		if (songs[currentSongId].isActive())
 			songs[currentSongId].stop();
 	}
@@ -106,12 +117,16 @@ public class AudioPlayer {
 	}
 
 	public void playEffect(int effect) {
+		if (silent)
+			return;
 		if (effects[effect].getMicrosecondPosition() > 0)
 			effects[effect].setMicrosecondPosition(0);
 		effects[effect].start();
 	}
 
 	public void playSong(int song) {
+		if (silent)
+			return;
 		stopSong();
 
 		currentSongId = song;
@@ -122,6 +137,8 @@ public class AudioPlayer {
 
 	public void toggleSongMute() {
 		this.songMute = !songMute;
+		if (silent)
+			return;
 		for (Clip c : songs) {
 			BooleanControl booleanControl = (BooleanControl) c.getControl(BooleanControl.Type.MUTE);
 			booleanControl.setValue(songMute);
@@ -130,6 +147,8 @@ public class AudioPlayer {
 
 	public void toggleEffectMute() {
 		this.effectMute = !effectMute;
+		if (silent)
+			return;
 		for (Clip c : effects) {
 			BooleanControl booleanControl = (BooleanControl) c.getControl(BooleanControl.Type.MUTE);
 			booleanControl.setValue(effectMute);
@@ -139,6 +158,8 @@ public class AudioPlayer {
 	}
 
 	private void updateSongVolume() {
+		if (silent)
+			return;
 
 		FloatControl gainControl = (FloatControl) songs[currentSongId].getControl(FloatControl.Type.MASTER_GAIN);
 		float range = gainControl.getMaximum() - gainControl.getMinimum();
@@ -148,6 +169,8 @@ public class AudioPlayer {
 	}
 
 	private void updateEffectsVolume() {
+		if (silent)
+			return;
 		for (Clip c : effects) {
 			FloatControl gainControl = (FloatControl) c.getControl(FloatControl.Type.MASTER_GAIN);
 			float range = gainControl.getMaximum() - gainControl.getMinimum();
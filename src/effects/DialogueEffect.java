@@ -3,7 +3,7 @@ package effects;
 import static utilz.Constants.ANI_SPEED;
 import static utilz.Constants.Dialogue.*;
 
-public class DialogueEffect {
+public class DialogueEffect implements Effect {
 
 	private int x, y, type;
 	private int aniIndex, aniTick;
@@ -15,6 +15,7 @@ public class DialogueEffect {
 		this.type = type;
 	}
 
+	@Override
 	public void update() {
 		aniTick++;
 		if (aniTick >= ANI_SPEED) {
@@ -34,6 +35,8 @@ public class DialogueEffect {
 	public void reset(int x, int y) {
 		this.x = x;
 		this.y = y;
+		aniIndex = 0;
+		aniTick = 0;
 		active = true;
 	}
 
@@ -53,6 +56,7 @@ public class DialogueEffect {
 		return type;
 	}
 
+	@Override
 	public boolean isActive() {
 		return active;
 	}
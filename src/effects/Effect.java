@@ -0,0 +1,10 @@
+package effects;
+
+// something an EffectPool can run: it is updated every tick until it reports
+// itself inactive, and then its slot is freed
+public interface Effect {
+
+	void update();
+
+	boolean isActive();
+}
@@ -0,0 +1,58 @@
+package effects;
+
+import java.util.function.IntFunction;
+
+// effect objects for every slot of an EffectSlots, created up front. spawn
+// hands back a free (or the oldest) object of the type for the caller to
+// reset; update runs the live ones and frees those that have finished.
+public class EffectPool<T extends Effect> {
+
+	private final EffectSlots slots;
+	private final T[] effects;
+
+	@SuppressWarnings("unchecked")
+	public EffectPool(int types, int capacityPerType, IntFunction<T> factory) {
+		slots = new EffectSlots(types, capacityPerType);
+		effects = (T[]) new Effect[slots.getSlotCount()];
+		for (int slot = 0; slot < effects.length; slot++)
+			effects[slot] = factory.apply(slots.getType(slot));
+	}
+
+	// the effect to reuse for a new one of this type; the caller resets it
+	public T spawn(int type) {
+		return effects[slots.spawn(type)];
+	}
+
+	public void update() {
+		for (int slot = 0; slot < effects.length; slot++)
+			if (slots.isActive(slot)) {
+				effects[slot].update();
+				if (!effects[slot].isActive())
+					slots.release(slot);
+			}
+	}
+
+	public void clear() {
+		slots.clear();
+	}
+
+	public boolean isActive(int slot) {
+		return slots.isActive(slot);
+	}
+
+	public T get(int slot) {
+		return effects[slot];
+	}
+
+	public int getSlotCount() {
+		return effects.length;
+	}
+
+	public int getActiveCount() {
+		return slots.getActiveCount();
+	}
+
+	public int getEvictedCount() {
+		return slots.getEvictedCount();
+	}
+}
@@ -0,0 +1,97 @@
+package effects;
+
+// slot bookkeeping for a bounded pool of short-lived effects. every effect
+// type gets a fixed range of slots and its own stack of free ones, so spawning
+// is a pop and never allocates. when a type has no free slot its oldest live
+// slot is evicted and handed out again. the slots only say which index to
+// use; the effect objects themselves are kept by EffectPool.
+public class EffectSlots {
+
+	private final int types;
+	private final int capacityPerType;
+	private final boolean[] active;
+	private final long[] spawnedAt;
+	private final int[] freeSlots;
+	private final int[] freeCount;
+	private long spawnCount;
+	private int activeCount;
+	private int evictedCount;
+
+	public EffectSlots(int types, int capacityPerType) {
+		this.types = types;
+		this.capacityPerType = capacityPerType;
+		int slots = types * capacityPerType;
+		active = new boolean[slots];
+		spawnedAt = new long[slots];
+		freeSlots = new int[slots];
+		freeCount = new int[types];
+		clear();
+	}
+
+	// a slot for an effect of this type, evicting the type's oldest if all are in use
+	public int spawn(int type) {
+		int slot;
+		if (freeCount[type] > 0) {
+			slot = freeSlots[type * capacityPerType + --freeCount[type]];
+			active[slot] = true;
+			activeCount++;
+		} else {
+			slot = oldest(type);
+			evictedCount++;
+		}
+		spawnedAt[slot] = spawnCount++;
+		return slot;
+	}
+
+	private int oldest(int type) {
+		int first = type * capacityPerType;
+		int oldest = first;
+		for (int slot = first + 1; slot < first + capacityPerType; slot++)
+			if (spawnedAt[slot] < spawnedAt[oldest])
+				oldest = slot;
+		return oldest;
+	}
+
+	public void release(int slot) {
+		if (!active[slot])
+			return;
+		active[slot] = false;
+		int type = slot / capacityPerType;
+		freeSlots[type * capacityPerType + freeCount[type]++] = slot;
+		activeCount--;
+	}
+
+	public void clear() {
+		for (int type = 0; type < types; type++) {
+			int first = type * capacityPerType;
+			// handed out from the first slot of the range upwards
+			for (int i = 0; i < capacityPerType; i++)
+				freeSlots[first + i] = first + capacityPerType - 1 - i;
+			freeCount[type] = capacityPerType;
+		}
+		for (int slot = 0; slot < active.length; slot++)
+			active[slot] = false;
+		activeCount = 0;
+	}
+
+	public boolean isActive(int slot) {
+		return active[slot];
+	}
+
+	public int getType(int slot) {
+		return slot / capacityPerType;
+	}
+
+	public int getSlotCount() {
+		return active.length;
+	}
+
+	public int getActiveCount() {
+		return activeCount;
+	}
+
+	// live effects replaced because their type was full
+	public int getEvictedCount() {
+		return evictedCount;
+	}
+}
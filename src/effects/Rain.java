@@ -1,54 +1,109 @@
 package effects;
 
 import java.awt.Graphics;
-import java.awt.geom.Point2D;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
 import java.util.Random;
 
 import mainn.Game;
+import utilz.GameRandom;
 import utilz.LoadSave;
+import utilz.Viewport;
 
+// drops kept as plain x and y arrays and moved in one pass. the particle is
+// scaled once into a cached image so each drop is an unscaled blit, and the
+// x of a respawned drop comes from a pre-rolled table instead of the rng.
+// capacity is fixed when created; intensity picks how many of them fall.
 public class Rain {
 
-	private Point2D.Float[] drops;
-	private Random rand;
+	public static final int DEFAULT_DROPS = 1000;
+
+	private static final int DROP_WIDTH = 3;
+	private static final int DROP_HEIGHT = 12;
+	private static final int RESPAWN_Y = -20;
+	// power of two, so the index wraps with a mask
+	private static final int RESPAWN_TABLE_SIZE = 4096;
+
+	private final float[] x;
+	private final float[] y;
+	private int dropCount;
 	private float rainSpeed = 1.25f;
+
+	private final int[] respawnX = new int[RESPAWN_TABLE_SIZE];
+	private int nextRespawn;
 	private BufferedImage rainParticle;
 
 	public Rain() {
-		rand = new Random();
-		drops = new Point2D.Float[1000];
-		rainParticle = LoadSave.GetSpriteAtlas(LoadSave.RAIN_PARTICLE);
-		initDrops();
+		this(DEFAULT_DROPS);
+	}
+
+	// a negative count, e.g. from -Djump.rain.drops, means no rain
+	public Rain(int maxDrops) {
+		maxDrops = Math.max(0, maxDrops);
+		Random rand = GameRandom.Create(GameRandom.RAIN);
+		x = new float[maxDrops];
+		y = new float[maxDrops];
+		dropCount = maxDrops;
+
+		// relative to the level offset: from one screen left to two screens right
+		for (int i = 0; i < respawnX.length; i++)
+			respawnX[i] = -Game.GAME_WIDTH + rand.nextInt(Game.GAME_WIDTH * 3);
+		for (int i = 0; i < maxDrops; i++) {
+			x[i] = nextRespawnX();
+			y[i] = rand.nextInt(Game.GAME_HEIGHT);
+		}
+		loadParticle();
 	}
 
-	private void initDrops() {
-		for (int i = 0; i < drops.length; i++)
-			drops[i] = getRndPos();
+	private void loadParticle() {
+		BufferedImage source = LoadSave.GetSpriteAtlas(LoadSave.RAIN_PARTICLE);
+		rainParticle = LoadSave.CreateCompatibleImage(DROP_WIDTH, DROP_HEIGHT);
+		Graphics2D g = rainParticle.createGraphics();
+		g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+		g.drawImage(source, 0, 0, DROP_WIDTH, DROP_HEIGHT, null);
+		g.dispose();
 	}
 
-	private Point2D.Float getRndPos() {
-		return new Point2D.Float((int) getNewX(0), rand.nextInt(Game.GAME_HEIGHT));
+	private int nextRespawnX() {
+		int value = respawnX[nextRespawn];
+		nextRespawn = (nextRespawn + 1) & (RESPAWN_TABLE_SIZE - 1);
+		return value;
 	}
 
 	public void update(int xLvlOffset) {
-		for (Point2D.Float p : drops) {
-			p.y += rainSpeed;
-			if (p.y >= Game.GAME_HEIGHT) {
-				p.y = -20;
-				p.x = getNewX(xLvlOffset);
+		int n = dropCount;
+		float speed = rainSpeed;
+		for (int i = 0; i < n; i++)
+			y[i] += speed;
+		for (int i = 0; i < n; i++)
+			if (y[i] >= Game.GAME_HEIGHT) {
+				y[i] = RESPAWN_Y;
+				x[i] = nextRespawnX() + xLvlOffset;
 			}
-		}
 	}
 
-	private float getNewX(int xLvlOffset) {
-		float value = (-Game.GAME_WIDTH) + rand.nextInt((int) (Game.GAME_WIDTH * 3f)) + xLvlOffset;
-		return value;
+	public void draw(Graphics g, Viewport viewport) {
+		int xLvlOffset = viewport.getXLvlOffset();
+		for (int i = 0; i < dropCount; i++)
+			if (viewport.isVisible(x[i], DROP_WIDTH))
+				g.drawImage(rainParticle, (int) x[i] - xLvlOffset, (int) y[i], null);
+	}
+
+	// fraction of the drops that fall, from 0 (dry) to 1 (all of them)
+	public void setIntensity(float intensity) {
+		dropCount = Math.round(Math.max(0f, Math.min(1f, intensity)) * x.length);
 	}
 
-	public void draw(Graphics g, int xLvlOffset) {
-		for (Point2D.Float p : drops)
-			g.drawImage(rainParticle, (int) p.getX() - xLvlOffset, (int) p.getY(), 3, 12, null);
+	public float getIntensity() {
+		return x.length == 0 ? 0 : (float) dropCount / x.length;
 	}
 
+	public void setSpeed(float rainSpeed) {
+		this.rainSpeed = rainSpeed;
+	}
+
+	public int getDropCount() {
+		return dropCount;
+	}
 }
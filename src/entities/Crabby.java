@@ -5,57 +5,50 @@ import static utilz.HelpMethods.IsFloor;
 import static utilz.Constants.Dialogue.*;
 
 import gamestates.Playing;
+import levels.CollisionGrid;
 
-public class Crabby extends Enemy {
+public class Crabby extends EnemyBehavior {
 
-	public Crabby(float x, float y) {
-		super(x, y, CRABBY_WIDTH, CRABBY_HEIGHT, CRABBY);
-		initHitbox(22, 19);
-		initAttackBox(82, 19, 30);
+	public void update(EnemyStore s, int i, CollisionGrid lvlData, Playing playing) {
+		updateBehavior(s, i, lvlData, playing);
+		updateAnimationTick(s, i);
+		updateAttackBox(s, i);
 	}
 
-	public void update(int[][] lvlData, Playing playing) {
-		updateBehavior(lvlData, playing);
-		updateAnimationTick();
-		updateAttackBox();
-	}
-
-	private void updateBehavior(int[][] lvlData, Playing playing) {
-		if (firstUpdate)
-			firstUpdateCheck(lvlData);
+	private void updateBehavior(EnemyStore s, int i, CollisionGrid lvlData, Playing playing) {
+		if (s.firstUpdate[i])
+			firstUpdateCheck(s, i, lvlData);
 
-		if (inAir) {
-			inAirChecks(lvlData, playing);
+		if (s.inAir[i]) {
+			inAirChecks(s, i, lvlData, playing);
 		} else {
-			switch (state) {
+			switch (s.state[i]) {
 			case IDLE:
-				if (IsFloor(hitbox, lvlData))
-					newState(RUNNING);
+				if (IsFloor(s.hitX[i], s.hitY[i], s.hitW[i], s.hitH[i], lvlData))
+					s.newState(i, RUNNING);
 				else
-					inAir = true;
+					s.inAir[i] = true;
 				break;
 			case RUNNING:
-				if (canSeePlayer(lvlData, playing.getPlayer())) {
-					turnTowardsPlayer(playing.getPlayer());
-					if (isPlayerCloseForAttack(playing.getPlayer()))
-						newState(ATTACK);
+				if (canSeePlayer(s, i, lvlData, playing.getPlayer())) {
+					turnTowardsPlayer(s, i, playing.getPlayer());
+					if (isPlayerCloseForAttack(s, i, playing.getPlayer(), 1))
+						s.newState(i, ATTACK);
 				}
-				move(lvlData);
+				move(s, i, lvlData);
 
-				if (inAir)
-					playing.addDialogue((int) hitbox.x, (int) hitbox.y, EXCLAMATION);
+				if (s.inAir[i])
+					playing.addDialogue((int) s.hitX[i], (int) s.hitY[i], EXCLAMATION);
 
 				break;
 			case ATTACK:
-				if (aniIndex == 0)
-					attackChecked = false;
-				if (aniIndex == 3 && !attackChecked)
-					checkPlayerHit(attackBox, playing.getPlayer());
+				if (s.aniIndex[i] == 0)
+					s.attackChecked[i] = false;
+				if (s.aniIndex[i] == 3 && !s.attackChecked[i])
+					checkPlayerHit(s, i, playing.getPlayer(), false);
 				break;
 			case HIT:
-				if (aniIndex <= GetSpriteAmount(enemyType, state) - 2)
-					pushBack(pushBackDir, lvlData, 2f);
-				updatePushBackDrawOffset();
+				updateHit(s, i, lvlData);
 				break;
 			}
 		}
@@ -0,0 +1,75 @@
+package entities;
+
+import static utilz.Constants.EnemyConstants.*;
+
+import mainn.Game;
+import utilz.LoadSave;
+
+// everything EnemyManager needs to know about an enemy type: its boxes, how to
+// draw it and the behaviour that drives its slots in an EnemyStore. the
+// ordinal of each entry matches its EnemyConstants type id. a new enemy type
+// is a new EnemyBehavior subclass plus an entry here.
+public enum EnemyArchetype {
+
+    CRABBY_TYPE(CRABBY, LoadSave.CRABBY_SPRITE, 9, 5,
+            CRABBY_WIDTH_DEFAULT, CRABBY_HEIGHT_DEFAULT,
+            CRABBY_WIDTH, CRABBY_HEIGHT,
+            CRABBY_DRAWOFFSET_X, CRABBY_DRAWOFFSET_Y,
+            22, 19, 82, 19, 30, new Crabby()),
+    PINKSTAR_TYPE(PINKSTAR, LoadSave.PINKSTAR_ATLAS, 8, 5,
+            PINKSTAR_WIDTH_DEFAULT, PINKSTAR_HEIGHT_DEFAULT,
+            PINKSTAR_WIDTH, PINKSTAR_HEIGHT,
+            PINKSTAR_DRAWOFFSET_X, PINKSTAR_DRAWOFFSET_Y,
+            17, 21, 0, 0, 0, new Pinkstar()),
+    SHARK_TYPE(SHARK, LoadSave.SHARK_ATLAS, 8, 5,
+            SHARK_WIDTH_DEFAULT, SHARK_HEIGHT_DEFAULT,
+            SHARK_WIDTH, SHARK_HEIGHT,
+            SHARK_DRAWOFFSET_X, SHARK_DRAWOFFSET_Y,
+            18, 22, 20, 20, 20, new Shark());
+
+    private static final EnemyArchetype[] BY_TYPE = values();
+
+    public final int enemyType;
+    public final String atlas;
+    public final int atlasCols, atlasRows;
+    public final int spriteW, spriteH;
+    public final int width, height;
+    public final int xDrawOffset, yDrawOffset;
+    // hitbox and attack box sizes before scaling, an attack box of size 0 for
+    // types that have none; the attack box offset is already scaled
+    public final int hitboxW, hitboxH;
+    public final int attackBoxW, attackBoxH;
+    public final int attackBoxOffsetX;
+    public final EnemyBehavior behavior;
+
+    EnemyArchetype(int enemyType, String atlas, int atlasCols, int atlasRows,
+            int spriteW, int spriteH, int width, int height,
+            int xDrawOffset, int yDrawOffset,
+            int hitboxW, int hitboxH, int attackBoxW, int attackBoxH, int attackBoxOffsetX,
+            EnemyBehavior behavior) {
+        this.enemyType = enemyType;
+        this.atlas = atlas;
+        this.atlasCols = atlasCols;
+        this.atlasRows = atlasRows;
+        this.spriteW = spriteW;
+        this.spriteH = spriteH;
+        this.width = width;
+        this.height = height;
+        this.xDrawOffset = xDrawOffset;
+        this.yDrawOffset = yDrawOffset;
+        this.hitboxW = hitboxW;
+        this.hitboxH = hitboxH;
+        this.attackBoxW = attackBoxW;
+        this.attackBoxH = attackBoxH;
+        this.attackBoxOffsetX = (int) (Game.SCALE * attackBoxOffsetX);
+        this.behavior = behavior;
+    }
+
+    public static EnemyArchetype ForType(int enemyType) {
+        return BY_TYPE[enemyType];
+    }
+
+    public static boolean IsEnemyType(int value) {
+        return value >= 0 && value < BY_TYPE.length;
+    }
+}
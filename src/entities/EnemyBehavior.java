@@ -0,0 +1,181 @@
+package entities;
+
+import static utilz.Constants.EnemyConstants.*;
+import static utilz.HelpMethods.*;
+
+import gamestates.Playing;
+import levels.CollisionGrid;
+import mainn.Game;
+
+import static utilz.Constants.Directions.*;
+import static utilz.Constants.*;
+
+// what an enemy archetype does each tick. a behaviour keeps no state of its
+// own: it is shared by every enemy of its archetype and works on the enemy's
+// slot i in the level's EnemyStore.
+public abstract class EnemyBehavior {
+	protected static final float WALK_SPEED = Game.SCALE * 0.35f;
+	protected static final float ATTACK_DISTANCE = Game.TILES_SIZE;
+
+	public abstract void update(EnemyStore s, int i, CollisionGrid lvlData, Playing playing);
+
+	protected void updateAttackBox(EnemyStore s, int i) {
+		s.attackX[i] = s.hitX[i] - EnemyArchetype.ForType(s.type[i]).attackBoxOffsetX;
+		s.attackY[i] = s.hitY[i];
+	}
+
+	protected void updateAttackBoxFlip(EnemyStore s, int i) {
+		if (s.walkDir[i] == RIGHT)
+			s.attackX[i] = s.hitX[i] + s.hitW[i];
+		else
+			s.attackX[i] = s.hitX[i] - EnemyArchetype.ForType(s.type[i]).attackBoxOffsetX;
+
+		s.attackY[i] = s.hitY[i];
+	}
+
+	protected void firstUpdateCheck(EnemyStore s, int i, CollisionGrid lvlData) {
+		if (!IsEntityOnFloor(s.hitX[i], s.hitY[i], s.hitW[i], s.hitH[i], lvlData))
+			s.inAir[i] = true;
+		s.firstUpdate[i] = false;
+	}
+
+	protected void inAirChecks(EnemyStore s, int i, CollisionGrid lvlData, Playing playing) {
+		if (s.state[i] != HIT && s.state[i] != DEAD) {
+			updateInAir(s, i, lvlData);
+			if (playing.getObjectManager().isTouchingSpikes(s.hitX[i], s.hitY[i], s.hitW[i], s.hitH[i]))
+				s.hurt(i, 200);
+			if (IsEntityInWater(s.hitX[i], s.hitY[i], s.hitW[i], s.hitH[i], lvlData))
+				s.hurt(i, GetMaxHealth(s.type[i]));
+		}
+	}
+
+	protected void updateInAir(EnemyStore s, int i, CollisionGrid lvlData) {
+		if (CanMoveHere(s.hitX[i], s.hitY[i] + s.airSpeed[i], s.hitW[i], s.hitH[i], lvlData)) {
+			s.hitY[i] += s.airSpeed[i];
+			s.airSpeed[i] += GRAVITY;
+		} else {
+			s.inAir[i] = false;
+			s.hitY[i] = GetEntityYPosUnderRoofOrAboveFloor(s.hitY[i], s.hitH[i], s.airSpeed[i]);
+			s.tileY[i] = (int) (s.hitY[i] / Game.TILES_SIZE);
+		}
+	}
+
+	protected void move(EnemyStore s, int i, CollisionGrid lvlData) {
+		float xSpeed = 0;
+
+		if (s.walkDir[i] == LEFT)
+			xSpeed = -WALK_SPEED;
+		else
+			xSpeed = WALK_SPEED;
+
+		if (CanMoveHere(s.hitX[i] + xSpeed, s.hitY[i], s.hitW[i], s.hitH[i], lvlData))
+			if (IsFloor(s.hitX[i], s.hitY[i], s.hitW[i], s.hitH[i], xSpeed, lvlData)) {
+				s.hitX[i] += xSpeed;
+				return;
+			}
+
+		changeWalkDir(s, i);
+	}
+
+	protected void turnTowardsPlayer(EnemyStore s, int i, Player player) {
+		if (player.hitbox.x > s.hitX[i])
+			s.walkDir[i] = RIGHT;
+		else
+			s.walkDir[i] = LEFT;
+	}
+
+	protected boolean canSeePlayer(EnemyStore s, int i, CollisionGrid lvlData, Player player) {
+		int playerTileY = (int) (player.getHitbox().y / Game.TILES_SIZE);
+		if (playerTileY == s.tileY[i])
+			if (isPlayerInRange(s, i, player)) {
+				if (IsSightClear(lvlData, s.hitX[i], player.hitbox, s.tileY[i]))
+					return true;
+			}
+		return false;
+	}
+
+	protected boolean isPlayerInRange(EnemyStore s, int i, Player player) {
+		int absValue = (int) Math.abs(player.hitbox.x - s.hitX[i]);
+		return absValue <= ATTACK_DISTANCE * 5;
+	}
+
+	// reach is how many attack distances away the archetype starts its attack
+	protected boolean isPlayerCloseForAttack(EnemyStore s, int i, Player player, int reach) {
+		int absValue = (int) Math.abs(player.hitbox.x - s.hitX[i]);
+		return absValue <= ATTACK_DISTANCE * reach;
+	}
+
+	// hits the player if they are in the attack box. with retryOnMiss a miss
+	// leaves the attack unchecked, so later frames of it can still land
+	protected void checkPlayerHit(EnemyStore s, int i, Player player, boolean retryOnMiss) {
+		if (player.hitbox.intersects(s.attackX[i], s.attackY[i], s.attackW[i], s.attackH[i]))
+			player.hit(s.hitX[i]);
+		else if (retryOnMiss)
+			return;
+		s.attackChecked[i] = true;
+	}
+
+	protected void updateAnimationTick(EnemyStore s, int i) {
+		s.aniTick[i]++;
+		if (s.aniTick[i] >= ANI_SPEED) {
+			s.aniTick[i] = 0;
+			s.aniIndex[i]++;
+			if (s.aniIndex[i] >= GetSpriteAmount(s.type[i], s.state[i]))
+				animationEnded(s, i);
+		}
+	}
+
+	// the last frame of the current state's animation has been shown
+	protected void animationEnded(EnemyStore s, int i) {
+		s.aniIndex[i] = 0;
+
+		switch (s.state[i]) {
+		case ATTACK, HIT -> s.state[i] = IDLE;
+		case DEAD -> s.active[i] = false;
+		}
+	}
+
+	protected void updateHit(EnemyStore s, int i, CollisionGrid lvlData) {
+		if (s.aniIndex[i] <= GetSpriteAmount(s.type[i], s.state[i]) - 2)
+			pushBack(s, i, lvlData, 2f);
+		updatePushBackDrawOffset(s, i);
+	}
+
+	protected void pushBack(EnemyStore s, int i, CollisionGrid lvlData, float speedMulti) {
+		float xSpeed = 0;
+		if (s.pushBackDir[i] == LEFT)
+			xSpeed = -WALK_SPEED;
+		else
+			xSpeed = WALK_SPEED;
+
+		if (CanMoveHere(s.hitX[i] + xSpeed * speedMulti, s.hitY[i], s.hitW[i], s.hitH[i], lvlData))
+			s.hitX[i] += xSpeed * speedMulti;
+	}
+
+	protected void updatePushBackDrawOffset(EnemyStore s, int i) {
+		float speed = 0.95f;
+		float limit = -30f;
+
+		if (s.pushBackOffsetDir[i] == UP) {
+			s.pushDrawOffset[i] -= speed;
+			if (s.pushDrawOffset[i] <= limit)
+				s.pushBackOffsetDir[i] = DOWN;
+		} else {
+			s.pushDrawOffset[i] += speed;
+			if (s.pushDrawOffset[i] >= 0)
+				s.pushDrawOffset[i] = 0;
+		}
+	}
+
+	protected void changeWalkDir(EnemyStore s, int i) {
+		if (s.walkDir[i] == LEFT)
+			s.walkDir[i] = RIGHT;
+		else
+			s.walkDir[i] = LEFT;
+	}
+
+	// whether an attack landing now does damage
+	public boolean canBeHurt(EnemyStore s, int i) {
+		return s.active[i] && s.state[i] != DEAD && s.state[i] != HIT;
+	}
+}
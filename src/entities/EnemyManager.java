@@ -1,20 +1,40 @@
 package entities;
 
+import static utilz.Constants.Directions.RIGHT;
+import static utilz.Constants.EnemyConstants.*;
+
 import java.awt.Graphics;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
 
 import gamestates.Playing;
+import levels.CollisionGrid;
 import levels.Level;
-import utilz.LoadSave;
-import static utilz.Constants.EnemyConstants.*;
+import levels.LevelChunk;
+import mainn.Game;
+import utilz.SpatialHash;
+import utilz.SpriteCache;
+import utilz.Viewport;
 
 public class EnemyManager {
 
+    // live enemies further than this from the player keep their state but
+    // aren't updated until the player comes back within range. it is inside
+    // Level.LIVE_DISTANCE, so every enemy that can be updated is live
+    public static final float ACTIVE_DISTANCE = Game.GAME_WIDTH * 1.5f;
+
     // class variables
     private Playing playing;
-    private BufferedImage[][] crabbyArr, pinkstarArr, sharkArr;
+    // [archetype][state][aniIndex], at draw size; mirrored for enemies walking right
+    private BufferedImage[][][] sprites, mirroredSprites;
     private Level currentLevel;
+    // enemies in the level's live chunks; the rest are dormant records in their chunk
+    private EnemyStore enemies = new EnemyStore();
+    // the live chunk range the store was last filled for, and the enemies left in the others
+    private int loadedFirst, loadedLast = -1;
+    private int dormantCount;
+    // awake, active enemies by tile column, as EnemyStore slots; rebuilt every tick after they move
+    private SpatialHash enemyHash = new SpatialHash();
 
     // initialization
     public EnemyManager(Playing playing) {
@@ -25,139 +45,138 @@ public class EnemyManager {
     // level management
     public void loadEnemies(Level level) {
         this.currentLevel = level;
+        enemyHash.reset(level.getCollisionGrid().getTilesWide());
+        resetAllEnemies();
     }
 
-    // enemy management and updates
-    public void update(int[][] lvlData, Player player) {
-        boolean isAnyActive = false;
-
-        for (Crabby c : currentLevel.getCrabs()) {
-            if (c.isActive()) {
-                c.update(lvlData, playing);
-                if (c.getHitbox().intersects(player.getHitbox())) {
-                    player.hit();
-                }
-                isAnyActive = true;
+    // follows the level's live chunks: enemies now outside them become dormant
+    // records in the chunk they stand in, and the records of chunks that just
+    // went live become enemies again
+    private void streamEnemies() {
+        int first = currentLevel.getFirstLiveChunk(), last = currentLevel.getLastLiveChunk();
+        if (first == loadedFirst && last == loadedLast)
+            return;
+
+        EnemyStore s = enemies;
+        for (int i = 0; i < s.size(); i++) {
+            int c = currentLevel.chunkOf(s.hitX[i]);
+            if (currentLevel.isLive(c))
+                continue;
+            // dead ones are dropped; a hit or attack doesn't survive dormancy
+            if (s.active[i] && s.state[i] != DEAD) {
+                int state = s.state[i] == RUNNING ? RUNNING : IDLE;
+                currentLevel.getChunk(c).addDormantEnemy(s.type[i], s.hitX[i], s.hitY[i], state, s.health[i]);
+                dormantCount++;
             }
+            s.remove(i);
         }
 
-        for (Pinkstar p : currentLevel.getPinkstars()) {
-            if (p.isActive()) {
-                p.update(lvlData, playing);
-                if (p.getHitbox().intersects(player.getHitbox())) {
-                    player.hit();
-                }
-                isAnyActive = true;
-            }
+        for (int c = first; c <= last; c++) {
+            if (c >= loadedFirst && c <= loadedLast)
+                continue;
+            LevelChunk chunk = currentLevel.getChunk(c);
+            for (int k = 0; k < chunk.getDormantEnemyCount(); k++)
+                s.restore(chunk.getDormantEnemyType(k), chunk.getDormantEnemyX(k), chunk.getDormantEnemyY(k), chunk.getDormantEnemyState(k), chunk.getDormantEnemyHealth(k));
+            dormantCount -= chunk.getDormantEnemyCount();
+            chunk.clearDormantEnemies();
         }
 
-        for (Shark s : currentLevel.getSharks()) {
-            if (s.isActive()) {
-                s.update(lvlData, playing);
-                if (s.getHitbox().intersects(player.getHitbox())) {
-                    player.hit();
-                }
+        s.regroup();
+        loadedFirst = first;
+        loadedLast = last;
+    }
+
+    // active enemies, limited to those awake around the player if one is given
+    private void rebuildHash(Player player) {
+        enemyHash.clear();
+        EnemyStore s = enemies;
+        for (int i = 0; i < s.size(); i++)
+            if (s.active[i] && (player == null || isAwake(s, i, player)))
+                enemyHash.insert(i, s.hitX[i], s.hitY[i], s.hitW[i], s.hitH[i]);
+    }
+
+    // enemy management and updates
+    public void update(CollisionGrid lvlData, Player player) {
+        streamEnemies();
+        boolean isAnyActive = dormantCount > 0;
+
+        EnemyStore s = enemies;
+        for (int i = 0; i < s.size(); i++) {
+            if (s.active[i]) {
+                if (isAwake(s, i, player))
+                    EnemyArchetype.ForType(s.type[i]).behavior.update(s, i, lvlData, playing);
                 isAnyActive = true;
             }
         }
 
+        rebuildHash(player);
+        enemyHash.query(player.getHitbox());
+        for (int i = enemyHash.next(); i >= 0; i = enemyHash.next())
+            player.hit();
+
         if (!isAnyActive)
             playing.setLevelCompleted(true);
     }
 
-    // drawing methods
-    public void draw(Graphics g, int xLvlOffset) {
-        drawCrabs(g, xLvlOffset);
-        drawPinkstars(g, xLvlOffset);
-        drawSharks(g, xLvlOffset);
-    }
-
-    // draw sharks
-    private void drawSharks(Graphics g, int xLvlOffset) {
-        for (Shark s : currentLevel.getSharks())
-            if (s.isActive()) {
-                g.drawImage(sharkArr[s.getState()][s.getAniIndex()], (int) s.getHitbox().x - xLvlOffset - SHARK_DRAWOFFSET_X + s.flipX(),
-                        (int) s.getHitbox().y - SHARK_DRAWOFFSET_Y + (int) s.getPushDrawOffset(), SHARK_WIDTH * s.flipW(), SHARK_HEIGHT, null);
-            }
-    }
-
-    // draw pinkstars
-    private void drawPinkstars(Graphics g, int xLvlOffset) {
-        for (Pinkstar p : currentLevel.getPinkstars())
-            if (p.isActive()) {
-                g.drawImage(pinkstarArr[p.getState()][p.getAniIndex()], (int) p.getHitbox().x - xLvlOffset - PINKSTAR_DRAWOFFSET_X + p.flipX(),
-                        (int) p.getHitbox().y - PINKSTAR_DRAWOFFSET_Y + (int) p.getPushDrawOffset(), PINKSTAR_WIDTH * p.flipW(), PINKSTAR_HEIGHT, null);
-            }
+    private boolean isAwake(EnemyStore s, int i, Player player) {
+        return Math.abs(s.hitX[i] - player.getHitbox().x) < ACTIVE_DISTANCE;
     }
 
-    // draw crabs
-    private void drawCrabs(Graphics g, int xLvlOffset) {
-        for (Crabby c : currentLevel.getCrabs())
-            if (c.isActive()) {
-                g.drawImage(crabbyArr[c.getState()][c.getAniIndex()], (int) c.getHitbox().x - xLvlOffset - CRABBY_DRAWOFFSET_X + c.flipX(),
-                        (int) c.getHitbox().y - CRABBY_DRAWOFFSET_Y + (int) c.getPushDrawOffset(), CRABBY_WIDTH * c.flipW(), CRABBY_HEIGHT, null);
+    // drawing methods
+    public void draw(Graphics g, int xLvlOffset) {
+        Viewport viewport = playing.getViewport();
+        EnemyStore s = enemies;
+        for (int i = 0; i < s.size(); i++) {
+            EnemyArchetype a = EnemyArchetype.ForType(s.type[i]);
+            if (s.active[i] && viewport.isVisible(s.hitX[i] - a.xDrawOffset, a.width)) {
+                BufferedImage[][] frames = s.walkDir[i] == RIGHT ? mirroredSprites[a.ordinal()] : sprites[a.ordinal()];
+                g.drawImage(frames[s.state[i]][s.aniIndex[i]], (int) s.hitX[i] - xLvlOffset - a.xDrawOffset, (int) s.hitY[i] - a.yDrawOffset + (int) s.pushDrawOffset[i],
+                        null);
             }
+        }
     }
 
     // collision handling
     public void checkEnemyHit(Rectangle2D.Float attackBox) {
-        // crabby hit check
-        for (Crabby c : currentLevel.getCrabs())
-            if (c.isActive())
-                if (c.getState() != DEAD && c.getState() != HIT)
-                    if (attackBox.intersects(c.getHitbox())) {
-                        c.hurt(20);
-                        return;
-                    }
-
-        // pinkstar hit check
-        for (Pinkstar p : currentLevel.getPinkstars())
-            if (p.isActive()) {
-                if (p.getState() == ATTACK && p.getAniIndex() >= 3)
-                    return;
-                else {
-                    if (p.getState() != DEAD && p.getState() != HIT)
-                        if (attackBox.intersects(p.getHitbox())) {
-                            p.hurt(20);
-                            return;
-                        }
-                }
-            }
-
-        // shark hit check
-        for (Shark s : currentLevel.getSharks())
-            if (s.isActive()) {
-                if (s.getState() != DEAD && s.getState() != HIT)
-                    if (attackBox.intersects(s.getHitbox())) {
-                        s.hurt(20);
-                        return;
-                    }
-            }
+        enemyHash.query(attackBox);
+        EnemyStore s = enemies;
+        for (int i = enemyHash.next(); i >= 0; i = enemyHash.next()) {
+            if (!EnemyArchetype.ForType(s.type[i]).behavior.canBeHurt(s, i))
+                continue;
+            s.hurt(i, 20);
+            return;
+        }
     }
 
     // sprite loading
     private void loadEnemyImgs() {
-        crabbyArr = getImgArr(LoadSave.GetSpriteAtlas(LoadSave.CRABBY_SPRITE), 9, 5, CRABBY_WIDTH_DEFAULT, CRABBY_HEIGHT_DEFAULT);
-        pinkstarArr = getImgArr(LoadSave.GetSpriteAtlas(LoadSave.PINKSTAR_ATLAS), 8, 5, PINKSTAR_WIDTH_DEFAULT, PINKSTAR_HEIGHT_DEFAULT);
-        sharkArr = getImgArr(LoadSave.GetSpriteAtlas(LoadSave.SHARK_ATLAS), 8, 5, SHARK_WIDTH_DEFAULT, SHARK_HEIGHT_DEFAULT);
+        EnemyArchetype[] archetypes = EnemyArchetype.values();
+        sprites = new BufferedImage[archetypes.length][][];
+        mirroredSprites = new BufferedImage[archetypes.length][][];
+        for (EnemyArchetype a : archetypes) {
+            sprites[a.ordinal()] = SpriteCache.GetFrames(a.atlas, a.atlasCols, a.atlasRows, a.spriteW, a.spriteH, a.width, a.height);
+            mirroredSprites[a.ordinal()] = SpriteCache.Mirror(sprites[a.ordinal()]);
+        }
     }
 
-    // helper methods
-    private BufferedImage[][] getImgArr(BufferedImage atlas, int xSize, int ySize, int spriteW, int spriteH) {
-        BufferedImage[][] tempArr = new BufferedImage[ySize][xSize];
-        for (int j = 0; j < tempArr.length; j++)
-            for (int i = 0; i < tempArr[j].length; i++)
-                tempArr[j][i] = atlas.getSubimage(i * spriteW, j * spriteH, spriteW, spriteH);
-        return tempArr;
+    // enemies still alive in the current level, dormant or not
+    public int getActiveEnemyCount() {
+        int count = dormantCount;
+        EnemyStore s = enemies;
+        for (int i = 0; i < s.size(); i++)
+            if (s.active[i])
+                count++;
+        return count;
     }
 
     // reset methods
     public void resetAllEnemies() {
-        for (Crabby c : currentLevel.getCrabs())
-            c.resetEnemy();
-        for (Pinkstar p : currentLevel.getPinkstars())
-            p.resetEnemy();
-        for (Shark s : currentLevel.getSharks())
-            s.resetEnemy();
+        enemies.clear();
+        currentLevel.resetDormantEnemies();
+        dormantCount = currentLevel.getEnemySpawnCount();
+        loadedFirst = 0;
+        loadedLast = -1;
+        streamEnemies();
+        rebuildHash(null);
     }
 }
\ No newline at end of file
@@ -0,0 +1,204 @@
+package entities;
+
+import static utilz.Constants.Directions.*;
+import static utilz.Constants.EnemyConstants.*;
+
+import java.util.Arrays;
+
+import mainn.Game;
+
+// the live enemies of a level as parallel primitive arrays, one slot per enemy
+// and grouped by archetype, so a pass over them runs each type's behaviour in
+// a batch over dense data. the behaviours (see EnemyBehavior) are stateless
+// and work on a slot index; the fields are package-private so they can.
+// enemies away from the player aren't here at all: they wait in their level
+// chunk as dormant records, see EnemyManager.
+public class EnemyStore {
+
+    // type of a slot that remove() has freed until the next regroup()
+    private static final int REMOVED = -1;
+
+    private int size;
+
+    int[] type = new int[0];
+    float[] hitX = new float[0], hitY = new float[0], hitW = new float[0], hitH = new float[0];
+    float[] attackX = new float[0], attackY = new float[0], attackW = new float[0], attackH = new float[0];
+    int[] state = new int[0], aniIndex = new int[0], aniTick = new int[0];
+    int[] walkDir = new int[0], tileY = new int[0], health = new int[0];
+    float[] airSpeed = new float[0];
+    boolean[] inAir = new boolean[0], firstUpdate = new boolean[0], active = new boolean[0], attackChecked = new boolean[0];
+    int[] pushBackDir = new int[0], pushBackOffsetDir = new int[0];
+    float[] pushDrawOffset = new float[0];
+    // pinkstar roll timers; unused by the other archetypes
+    boolean[] preRoll = new boolean[0];
+    int[] ticksSinceDmg = new int[0], ticksIdle = new int[0], rollTicks = new int[0];
+
+    // a fresh enemy of the type with its hitbox at (x, y); returns its slot.
+    // call regroup() once a batch is added
+    public int add(int enemyType, float x, float y) {
+        if (size == type.length)
+            resize(Math.max(16, size * 2));
+        int i = size++;
+        EnemyArchetype a = EnemyArchetype.ForType(enemyType);
+        type[i] = enemyType;
+        hitX[i] = attackX[i] = x;
+        hitY[i] = attackY[i] = y;
+        hitW[i] = (int) (a.hitboxW * Game.SCALE);
+        hitH[i] = (int) (a.hitboxH * Game.SCALE);
+        attackW[i] = (int) (a.attackBoxW * Game.SCALE);
+        attackH[i] = (int) (a.attackBoxH * Game.SCALE);
+        state[i] = IDLE;
+        aniIndex[i] = aniTick[i] = 0;
+        walkDir[i] = LEFT;
+        tileY[i] = 0;
+        health[i] = GetMaxHealth(enemyType);
+        airSpeed[i] = 0;
+        inAir[i] = false;
+        firstUpdate[i] = true;
+        active[i] = true;
+        attackChecked[i] = false;
+        pushBackDir[i] = 0;
+        pushBackOffsetDir[i] = UP;
+        pushDrawOffset[i] = 0;
+        preRoll[i] = true;
+        ticksSinceDmg[i] = ticksIdle[i] = rollTicks[i] = 0;
+        return i;
+    }
+
+    // an enemy coming back from a dormant record; it settles onto the floor
+    // again on its first update
+    public int restore(int enemyType, float x, float y, int enemyState, int enemyHealth) {
+        int i = add(enemyType, x, y);
+        newState(i, enemyState);
+        health[i] = enemyHealth;
+        tileY[i] = (int) (y / Game.TILES_SIZE);
+        return i;
+    }
+
+    // marks the slot free; it is dropped by the next regroup(), which must
+    // come before the store is used again
+    public void remove(int i) {
+        type[i] = REMOVED;
+    }
+
+    // drops removed slots and groups the rest by archetype, keeping their order
+    // within a type
+    public void regroup() {
+        int[] order = new int[size];
+        int kept = 0;
+        for (EnemyArchetype a : EnemyArchetype.values())
+            for (int i = 0; i < size; i++)
+                if (type[i] == a.enemyType)
+                    order[kept++] = i;
+
+        type = Permute(type, order, kept);
+        hitX = Permute(hitX, order, kept);
+        hitY = Permute(hitY, order, kept);
+        hitW = Permute(hitW, order, kept);
+        hitH = Permute(hitH, order, kept);
+        attackX = Permute(attackX, order, kept);
+        attackY = Permute(attackY, order, kept);
+        attackW = Permute(attackW, order, kept);
+        attackH = Permute(attackH, order, kept);
+        state = Permute(state, order, kept);
+        aniIndex = Permute(aniIndex, order, kept);
+        aniTick = Permute(aniTick, order, kept);
+        walkDir = Permute(walkDir, order, kept);
+        tileY = Permute(tileY, order, kept);
+        health = Permute(health, order, kept);
+        airSpeed = Permute(airSpeed, order, kept);
+        inAir = Permute(inAir, order, kept);
+        firstUpdate = Permute(firstUpdate, order, kept);
+        active = Permute(active, order, kept);
+        attackChecked = Permute(attackChecked, order, kept);
+        pushBackDir = Permute(pushBackDir, order, kept);
+        pushBackOffsetDir = Permute(pushBackOffsetDir, order, kept);
+        pushDrawOffset = Permute(pushDrawOffset, order, kept);
+        preRoll = Permute(preRoll, order, kept);
+        ticksSinceDmg = Permute(ticksSinceDmg, order, kept);
+        ticksIdle = Permute(ticksIdle, order, kept);
+        rollTicks = Permute(rollTicks, order, kept);
+        size = kept;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    // the arrays keep their length, slots past size are garbage
+    private static int[] Permute(int[] a, int[] order, int n) {
+        int[] b = new int[a.length];
+        for (int i = 0; i < n; i++)
+            b[i] = a[order[i]];
+        return b;
+    }
+
+    private static float[] Permute(float[] a, int[] order, int n) {
+        float[] b = new float[a.length];
+        for (int i = 0; i < n; i++)
+            b[i] = a[order[i]];
+        return b;
+    }
+
+    private static boolean[] Permute(boolean[] a, int[] order, int n) {
+        boolean[] b = new boolean[a.length];
+        for (int i = 0; i < n; i++)
+            b[i] = a[order[i]];
+        return b;
+    }
+
+    private void resize(int capacity) {
+        type = Arrays.copyOf(type, capacity);
+        hitX = Arrays.copyOf(hitX, capacity);
+        hitY = Arrays.copyOf(hitY, capacity);
+        hitW = Arrays.copyOf(hitW, capacity);
+        hitH = Arrays.copyOf(hitH, capacity);
+        attackX = Arrays.copyOf(attackX, capacity);
+        attackY = Arrays.copyOf(attackY, capacity);
+        attackW = Arrays.copyOf(attackW, capacity);
+        attackH = Arrays.copyOf(attackH, capacity);
+        state = Arrays.copyOf(state, capacity);
+        aniIndex = Arrays.copyOf(aniIndex, capacity);
+        aniTick = Arrays.copyOf(aniTick, capacity);
+        walkDir = Arrays.copyOf(walkDir, capacity);
+        tileY = Arrays.copyOf(tileY, capacity);
+        health = Arrays.copyOf(health, capacity);
+        airSpeed = Arrays.copyOf(airSpeed, capacity);
+        inAir = Arrays.copyOf(inAir, capacity);
+        firstUpdate = Arrays.copyOf(firstUpdate, capacity);
+        active = Arrays.copyOf(active, capacity);
+        attackChecked = Arrays.copyOf(attackChecked, capacity);
+        pushBackDir = Arrays.copyOf(pushBackDir, capacity);
+        pushBackOffsetDir = Arrays.copyOf(pushBackOffsetDir, capacity);
+        pushDrawOffset = Arrays.copyOf(pushDrawOffset, capacity);
+        preRoll = Arrays.copyOf(preRoll, capacity);
+        ticksSinceDmg = Arrays.copyOf(ticksSinceDmg, capacity);
+        ticksIdle = Arrays.copyOf(ticksIdle, capacity);
+        rollTicks = Arrays.copyOf(rollTicks, capacity);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    void newState(int i, int newState) {
+        state[i] = newState;
+        aniTick[i] = 0;
+        aniIndex[i] = 0;
+    }
+
+    void hurt(int i, int amount) {
+        health[i] -= amount;
+        if (health[i] <= 0)
+            newState(i, DEAD);
+        else {
+            newState(i, HIT);
+            if (walkDir[i] == LEFT)
+                pushBackDir[i] = RIGHT;
+            else
+                pushBackDir[i] = LEFT;
+            pushBackOffsetDir[i] = UP;
+            pushDrawOffset[i] = 0;
+        }
+    }
+}
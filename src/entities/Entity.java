@@ -4,6 +4,7 @@ import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.geom.Rectangle2D;
 
+import levels.CollisionGrid;
 import mainn.Game;
 
 import static utilz.Constants.Directions.DOWN;
@@ -51,7 +52,7 @@ public abstract class Entity {
 		}
 	}
 
-	protected void pushBack(int pushBackDir, int[][] lvlData, float speedMulti) {
+	protected void pushBack(int pushBackDir, CollisionGrid lvlData, float speedMulti) {
 		float xSpeed = 0;
 		if (pushBackDir == LEFT)
 			xSpeed = -walkSpeed;
@@ -7,66 +7,57 @@ import static utilz.HelpMethods.IsFloor;
 import static utilz.Constants.Directions.*;
 
 import gamestates.Playing;
+import levels.CollisionGrid;
 
-public class Pinkstar extends Enemy {
+public class Pinkstar extends EnemyBehavior {
 
-	private boolean preRoll = true;
-	private int tickSinceLastDmgToPlayer;
-	private int tickAfterRollInIdle;
-	private int rollDurationTick, rollDuration = 300;
+	private static final int ROLL_DURATION = 300;
 
-	public Pinkstar(float x, float y) {
-		super(x, y, PINKSTAR_WIDTH, PINKSTAR_HEIGHT, PINKSTAR);
-		initHitbox(17, 21);
+	public void update(EnemyStore s, int i, CollisionGrid lvlData, Playing playing) {
+		updateBehavior(s, i, lvlData, playing);
+		updateAnimationTick(s, i);
 	}
 
-	public void update(int[][] lvlData, Playing playing) {
-		updateBehavior(lvlData, playing);
-		updateAnimationTick();
-	}
-
-	private void updateBehavior(int[][] lvlData, Playing playing) {
-		if (firstUpdate)
-			firstUpdateCheck(lvlData);
+	private void updateBehavior(EnemyStore s, int i, CollisionGrid lvlData, Playing playing) {
+		if (s.firstUpdate[i])
+			firstUpdateCheck(s, i, lvlData);
 
-		if (inAir)
-			inAirChecks(lvlData, playing);
+		if (s.inAir[i])
+			inAirChecks(s, i, lvlData, playing);
 		else {
-			switch (state) {
+			switch (s.state[i]) {
 			case IDLE:
-				preRoll = true;
-				if (tickAfterRollInIdle >= 120) {
-					if (IsFloor(hitbox, lvlData))
-						newState(RUNNING);
+				s.preRoll[i] = true;
+				if (s.ticksIdle[i] >= 120) {
+					if (IsFloor(s.hitX[i], s.hitY[i], s.hitW[i], s.hitH[i], lvlData))
+						s.newState(i, RUNNING);
 					else
-						inAir = true;
-					tickAfterRollInIdle = 0;
-					tickSinceLastDmgToPlayer = 60;
+						s.inAir[i] = true;
+					s.ticksIdle[i] = 0;
+					s.ticksSinceDmg[i] = 60;
 				} else
-					tickAfterRollInIdle++;
+					s.ticksIdle[i]++;
 				break;
 			case RUNNING:
-				if (canSeePlayer(lvlData, playing.getPlayer())) {
-					newState(ATTACK);
-					setWalkDir(playing.getPlayer());
+				if (canSeePlayer(s, i, lvlData, playing.getPlayer())) {
+					s.newState(i, ATTACK);
+					setWalkDir(s, i, playing.getPlayer());
 				}
-				move(lvlData, playing);
+				move(s, i, lvlData, playing);
 				break;
 			case ATTACK:
-				if (preRoll) {
-					if (aniIndex >= 3)
-						preRoll = false;
+				if (s.preRoll[i]) {
+					if (s.aniIndex[i] >= 3)
+						s.preRoll[i] = false;
 				} else {
-					move(lvlData, playing);
-					checkDmgToPlayer(playing.getPlayer());
-					checkRollOver(playing);
+					move(s, i, lvlData, playing);
+					checkDmgToPlayer(s, i, playing.getPlayer());
+					checkRollOver(s, i, playing);
 				}
 				break;
 			case HIT:
-				if (aniIndex <= GetSpriteAmount(enemyType, state) - 2)
-					pushBack(pushBackDir, lvlData, 2f);
-				updatePushBackDrawOffset();
-				tickAfterRollInIdle = 120;
+				updateHit(s, i, lvlData);
+				s.ticksIdle[i] = 120;
 
 				break;
 			}
@@ -74,62 +65,77 @@ public class Pinkstar extends Enemy {
 	}
 
 	   // player damage check
-        private void checkDmgToPlayer(Player player) {
-            if (hitbox.intersects(player.getHitbox())) {
-                if (tickSinceLastDmgToPlayer >= 60) {
-                    tickSinceLastDmgToPlayer = 0;
-                    player.hit(this);
+        private void checkDmgToPlayer(EnemyStore s, int i, Player player) {
+            if (player.getHitbox().intersects(s.hitX[i], s.hitY[i], s.hitW[i], s.hitH[i])) {
+                if (s.ticksSinceDmg[i] >= 60) {
+                    s.ticksSinceDmg[i] = 0;
+                    player.hit(s.hitX[i]);
                 } else {
-                    tickSinceLastDmgToPlayer++;
+                    s.ticksSinceDmg[i]++;
                 }
             }
         }
 
-	private void setWalkDir(Player player) {
-		if (player.getHitbox().x > hitbox.x)
-			walkDir = RIGHT;
+	private void setWalkDir(EnemyStore s, int i, Player player) {
+		if (player.getHitbox().x > s.hitX[i])
+			s.walkDir[i] = RIGHT;
 		else
-			walkDir = LEFT;
+			s.walkDir[i] = LEFT;
 
 	}
 
-	protected void move(int[][] lvlData, Playing playing) {
+	protected void move(EnemyStore s, int i, CollisionGrid lvlData, Playing playing) {
 		float xSpeed = 0;
 
-		if (walkDir == LEFT)
-			xSpeed = -walkSpeed;
+		if (s.walkDir[i] == LEFT)
+			xSpeed = -WALK_SPEED;
 		else
-			xSpeed = walkSpeed;
+			xSpeed = WALK_SPEED;
 
-		if (state == ATTACK)
+		if (s.state[i] == ATTACK)
 			xSpeed *= 2;
 
-		if (CanMoveHere(hitbox.x + xSpeed, hitbox.y, hitbox.width, hitbox.height, lvlData))
-			if (IsFloor(hitbox, xSpeed, lvlData)) {
-				hitbox.x += xSpeed;
+		if (CanMoveHere(s.hitX[i] + xSpeed, s.hitY[i], s.hitW[i], s.hitH[i], lvlData))
+			if (IsFloor(s.hitX[i], s.hitY[i], s.hitW[i], s.hitH[i], xSpeed, lvlData)) {
+				s.hitX[i] += xSpeed;
 				return;
 			}
 
-		if (state == ATTACK) {
-			rollOver(playing);
-			rollDurationTick = 0;
+		if (s.state[i] == ATTACK) {
+			rollOver(s, i, playing);
+			s.rollTicks[i] = 0;
 		}
 
-		changeWalkDir();
+		changeWalkDir(s, i);
 
 	}
 
-	private void checkRollOver(Playing playing) {
-		rollDurationTick++;
-		if (rollDurationTick >= rollDuration) {
-			rollOver(playing);
-			rollDurationTick = 0;
+	private void checkRollOver(EnemyStore s, int i, Playing playing) {
+		s.rollTicks[i]++;
+		if (s.rollTicks[i] >= ROLL_DURATION) {
+			rollOver(s, i, playing);
+			s.rollTicks[i] = 0;
 		}
 	}
 
-	private void rollOver(Playing playing) {
-		newState(IDLE);
-		playing.addDialogue((int) hitbox.x, (int) hitbox.y, QUESTION);
+	private void rollOver(EnemyStore s, int i, Playing playing) {
+		s.newState(i, IDLE);
+		playing.addDialogue((int) s.hitX[i], (int) s.hitY[i], QUESTION);
+	}
+
+	// a pinkstar keeps rolling at the end of its attack animation
+	@Override
+	protected void animationEnded(EnemyStore s, int i) {
+		if (s.state[i] == ATTACK)
+			s.aniIndex[i] = 3;
+		else
+			super.animationEnded(s, i);
+	}
+
+	// a rolling pinkstar can't be hurt
+	@Override
+	public boolean canBeHurt(EnemyStore s, int i) {
+		return super.canBeHurt(s, i) && !(s.state[i] == ATTACK && s.aniIndex[i] >= 3);
 	}
 
 }
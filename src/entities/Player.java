@@ -14,17 +14,22 @@ import java.awt.image.BufferedImage;
 
 import audio.AudioPlayer;
 import gamestates.Playing;
+import levels.CollisionGrid;
 import mainn.Game;
 import utilz.LoadSave;
+import utilz.SpriteCache;
+import utilz.TextCache;
+import utilz.TextImage;
 import static utilz.Constants.UI.*;
 
 public class Player extends Entity {
 
     // class variables
-    private BufferedImage[][] animations;
+    // at draw size; mirrored while facing left
+    private BufferedImage[][] animations, mirroredAnimations;
     private boolean moving = false;
     private boolean left, right, jump;
-    private int[][] lvlData;
+    private CollisionGrid lvlData;
 
     // jumping and gravity
     private float jumpSpeed = -2.25f * Game.SCALE;
@@ -39,7 +44,6 @@ public class Player extends Entity {
     private int heartAnimationTick = 0;
     private int heartAnimationFrame = 0;
     
-    private int flipX = 0;
     private int flipW = 1;
 
     private Playing playing;
@@ -47,15 +51,21 @@ public class Player extends Entity {
     private int tileY = 0;
 
     private BufferedImage lifeIcon;
+    // the "x3" next to the heart, drawn again only when lives change
+    private TextImage livesText = new TextImage(TextCache.GetFont(LoadSave.CUSTOM_FONT_JERSEY, Font.BOLD, (int) (24 * Game.SCALE)), Color.WHITE);
+    private int livesShown = -1;
 
     public Player(PlayerCharacter playerCharacter, Playing playing) {
         super(0, 0, (int) (playerCharacter.spriteW * Game.SCALE), (int) (playerCharacter.spriteH * Game.SCALE));
         this.playing = playing;
         this.state = IDLE;
         this.walkSpeed = Game.SCALE * 1.0f;
-        animations = LoadSave.loadAnimations(playerCharacter);
-        lifeIcon = LoadSave.GetSpriteAtlas(LoadSave.LIFE_ICON);
-        heartAnimations = LoadSave.GetHeartAnimationSprites();
+        animations = SpriteCache.Scale(LoadSave.loadAnimations(playerCharacter), width, height);
+        mirroredAnimations = SpriteCache.Mirror(animations);
+        BufferedImage icon = LoadSave.GetSpriteAtlas(LoadSave.LIFE_ICON);
+        if (icon != null)
+            lifeIcon = SpriteCache.Scale(icon, (int) (20 * Game.SCALE), (int) (20 * Game.SCALE));
+        heartAnimations = SpriteCache.Scale(LoadSave.GetHeartAnimationSprites(), (int) (HEART_SPRITE_WIDTH * Game.SCALE), (int) (HEART_SPRITE_HEIGHT * Game.SCALE));
         initHitbox(playerCharacter.hitboxW, playerCharacter.hitboxH);
     }
 
@@ -124,7 +134,7 @@ public class Player extends Entity {
 
     // water check
     private void checkInsideWater() {
-        if (IsEntityInWater(hitbox, playing.getLevelManager().getCurrentLevel().getLevelData()))
+        if (IsEntityInWater(hitbox, playing.getLevelManager().getCurrentLevel().getCollisionGrid()))
             kill();
     }
 
@@ -140,7 +150,8 @@ public class Player extends Entity {
 
     // player rendering
     public void render(Graphics g, int lvlOffset) {
-        g.drawImage(animations[PlayerCharacter.FROG.getRowIndex(state)][aniIndex], (int) (hitbox.x - PlayerCharacter.FROG.xDrawOffset) - lvlOffset + flipX, (int) (hitbox.y - PlayerCharacter.FROG.yDrawOffset + (int) (pushDrawOffset)), width * flipW, height, null);
+        BufferedImage[][] frames = flipW < 0 ? mirroredAnimations : animations;
+        g.drawImage(frames[PlayerCharacter.FROG.getRowIndex(state)][aniIndex], (int) (hitbox.x - PlayerCharacter.FROG.xDrawOffset) - lvlOffset, (int) (hitbox.y - PlayerCharacter.FROG.yDrawOffset + (int) (pushDrawOffset)), null);
         drawUI(g);
     }
 
@@ -148,32 +159,25 @@ public class Player extends Entity {
     private void drawUI(Graphics g) {
         int heartIconX = (int) (20 * Game.SCALE);
         int heartIconY = (int) (20 * Game.SCALE);
+        if (lives != livesShown) {
+            livesShown = lives;
+            livesText.setText("x" + lives);
+        }
 
         if (heartAnimations != null && heartAnimations.length > 0 && heartAnimations[heartAnimationFrame] != null) {
-            g.drawImage(heartAnimations[heartAnimationFrame],
-                    heartIconX,
-                    heartIconY,
-                    (int) (HEART_SPRITE_WIDTH * Game.SCALE),
-                    (int) (HEART_SPRITE_HEIGHT * Game.SCALE),
-                    null);
-
-            g.setColor(Color.WHITE);
-            g.setFont(new Font("Jersey15-Regular", Font.BOLD, (int) (24 * Game.SCALE)));
+            g.drawImage(heartAnimations[heartAnimationFrame], heartIconX, heartIconY, null);
 
             int textX = heartIconX + (int) (HEART_SPRITE_WIDTH * Game.SCALE) + (int) (5 * Game.SCALE);
-            int textY = heartIconY + (int) (HEART_SPRITE_HEIGHT * Game.SCALE / 2) + (int) (g.getFontMetrics().getAscent() / 2) - (int) (g.getFontMetrics().getDescent() / 2);
+            int textY = heartIconY + (int) (HEART_SPRITE_HEIGHT * Game.SCALE / 2) + (int) (livesText.getAscent() / 2) - (int) (livesText.getDescent() / 2);
 
-            g.drawString("x" + lives, textX, textY);
+            livesText.draw(g, textX, textY);
         } else if (lifeIcon != null) {
             int fallbackIconSize = (int) (20 * Game.SCALE);
-            g.drawImage(lifeIcon, heartIconX, heartIconY, fallbackIconSize, fallbackIconSize, null);
-
-            g.setColor(Color.WHITE);
-            g.setFont(new Font("Jersey15-Regular", Font.BOLD, (int) (24 * Game.SCALE)));
+            g.drawImage(lifeIcon, heartIconX, heartIconY, null);
 
             int textX = heartIconX + fallbackIconSize + (int) (5 * Game.SCALE);
-            int textY = heartIconY + (int) (fallbackIconSize / 2) + (int) (g.getFontMetrics().getAscent() / 2) - (int) (g.getFontMetrics().getDescent() / 2);
-            g.drawString("x" + lives, textX, textY);
+            int textY = heartIconY + (int) (fallbackIconSize / 2) + (int) (livesText.getAscent() / 2) - (int) (livesText.getDescent() / 2);
+            livesText.draw(g, textX, textY);
         }
     }
 
@@ -247,11 +251,9 @@ public class Player extends Entity {
         float xSpeed = 0;
         if (left && !right) {
             xSpeed -= walkSpeed;
-            flipX = width;
             flipW = -1;
         } else if (right && !left) {
             xSpeed += walkSpeed;
-            flipX = 0;
             flipW = 1;
         }
 
@@ -324,7 +326,7 @@ public class Player extends Entity {
     }
 
     // player hit with pushback
-    public void hit(Enemy e) {
+    public void hit(float enemyX) {
         if (state == HIT) {
             return;
         }
@@ -332,7 +334,7 @@ public class Player extends Entity {
         pushBackOffsetDir = UP;
         pushDrawOffset = 0;
 
-        if (e.getHitbox().x < hitbox.x)
+        if (enemyX < hitbox.x)
             pushBackDir = RIGHT;
         else
             pushBackDir = LEFT;
@@ -352,7 +354,7 @@ public class Player extends Entity {
     }
 
     // level data loading
-    public void loadLvlData(int[][] lvlData) {
+    public void loadLvlData(CollisionGrid lvlData) {
         this.lvlData = lvlData;
         if (!IsEntityOnFloor(hitbox, lvlData))
             inAir = true;
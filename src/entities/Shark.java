@@ -7,77 +7,70 @@ import static utilz.HelpMethods.CanMoveHere;
 import static utilz.HelpMethods.IsFloor;
 
 import gamestates.Playing;
+import levels.CollisionGrid;
 
-public class Shark extends Enemy {
+public class Shark extends EnemyBehavior {
 
-	public Shark(float x, float y) {
-		super(x, y, SHARK_WIDTH, SHARK_HEIGHT, SHARK);
-		initHitbox(18, 22);
-		initAttackBox(20, 20, 20);
+	public void update(EnemyStore s, int i, CollisionGrid lvlData, Playing playing) {
+		updateBehavior(s, i, lvlData, playing);
+		updateAnimationTick(s, i);
+		updateAttackBoxFlip(s, i);
 	}
 
-	public void update(int[][] lvlData, Playing playing) {
-		updateBehavior(lvlData, playing);
-		updateAnimationTick();
-		updateAttackBoxFlip();
-	}
-
-	private void updateBehavior(int[][] lvlData, Playing playing) {
-		if (firstUpdate)
-			firstUpdateCheck(lvlData);
+	private void updateBehavior(EnemyStore s, int i, CollisionGrid lvlData, Playing playing) {
+		if (s.firstUpdate[i])
+			firstUpdateCheck(s, i, lvlData);
 
-		if (inAir)
-			inAirChecks(lvlData, playing);
+		if (s.inAir[i])
+			inAirChecks(s, i, lvlData, playing);
 		else {
-			switch (state) {
+			switch (s.state[i]) {
 			case IDLE:
-				if (IsFloor(hitbox, lvlData))
-					newState(RUNNING);
+				if (IsFloor(s.hitX[i], s.hitY[i], s.hitW[i], s.hitH[i], lvlData))
+					s.newState(i, RUNNING);
 				else
-					inAir = true;
+					s.inAir[i] = true;
 				break;
 			case RUNNING:
-				if (canSeePlayer(lvlData, playing.getPlayer())) {
-					turnTowardsPlayer(playing.getPlayer());
-					if (isPlayerCloseForAttack(playing.getPlayer()))
-						newState(ATTACK);
+				if (canSeePlayer(s, i, lvlData, playing.getPlayer())) {
+					turnTowardsPlayer(s, i, playing.getPlayer());
+					if (isPlayerCloseForAttack(s, i, playing.getPlayer(), 2))
+						s.newState(i, ATTACK);
 				}
 
-				move(lvlData);
+				move(s, i, lvlData);
 				break;
 			case ATTACK:
-				if (aniIndex == 0)
-					attackChecked = false;
-				else if (aniIndex == 3) {
-					if (!attackChecked)
-						checkPlayerHit(attackBox, playing.getPlayer());
-					attackMove(lvlData, playing);
+				if (s.aniIndex[i] == 0)
+					s.attackChecked[i] = false;
+				else if (s.aniIndex[i] == 3) {
+					if (!s.attackChecked[i])
+						checkPlayerHit(s, i, playing.getPlayer(), true);
+					attackMove(s, i, lvlData, playing);
 				}
 
 				break;
 	 		case HIT:
-				if (aniIndex <= GetSpriteAmount(enemyType, state) - 2)
-					pushBack(pushBackDir, lvlData, 2f);
-				updatePushBackDrawOffset();
+				updateHit(s, i, lvlData);
 				break;
 			}
 		}
 	}
 
-	protected void attackMove(int[][] lvlData, Playing playing) {
+	protected void attackMove(EnemyStore s, int i, CollisionGrid lvlData, Playing playing) {
 		float xSpeed = 0;
 
-		if (walkDir == LEFT)
-			xSpeed = -walkSpeed;
+		if (s.walkDir[i] == LEFT)
+			xSpeed = -WALK_SPEED;
 		else
-			xSpeed = walkSpeed;
+			xSpeed = WALK_SPEED;
 
-		if (CanMoveHere(hitbox.x + xSpeed * 4, hitbox.y, hitbox.width, hitbox.height, lvlData))
-			if (IsFloor(hitbox, xSpeed * 4, lvlData)) {
-				hitbox.x += xSpeed * 4;
+		if (CanMoveHere(s.hitX[i] + xSpeed * 4, s.hitY[i], s.hitW[i], s.hitH[i], lvlData))
+			if (IsFloor(s.hitX[i], s.hitY[i], s.hitW[i], s.hitH[i], xSpeed * 4, lvlData)) {
+				s.hitX[i] += xSpeed * 4;
 				return;
 			}
-		newState(IDLE);
-		playing.addDialogue((int) hitbox.x, (int) hitbox.y, EXCLAMATION);
+		s.newState(i, IDLE);
+		playing.addDialogue((int) s.hitX[i], (int) s.hitY[i], EXCLAMATION);
 	}
 }
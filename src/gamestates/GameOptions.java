@@ -6,16 +6,20 @@ import java.awt.event.MouseEvent;
 import java.awt.image.BufferedImage;
 
 import mainn.Game;
+import mainn.RenderMode;
 import ui.AudioOptions;
 import ui.PauseButton;
 import ui.UrmButton;
+import utilz.AcceleratedImage;
 import utilz.LoadSave;
+import utilz.SpriteCache;
 import static utilz.Constants.UI.URMButtons.*;
 
 public class GameOptions extends State implements Statemethods {
 
 	private AudioOptions audioOptions;
-	private BufferedImage backgroundImg, optionsBackgroundImg;
+	private AcceleratedImage backgroundImg;
+	private BufferedImage optionsBackgroundImg;
 	private int bgX, bgY, bgW, bgH;
 	private UrmButton menuB;
 
@@ -34,7 +38,7 @@ public class GameOptions extends State implements Statemethods {
 	}
 
 	private void loadImgs() {
-		backgroundImg = LoadSave.GetSpriteAtlas(LoadSave.MENU_BACKGROUND_IMG);
+		backgroundImg = new AcceleratedImage(SpriteCache.GetImage(LoadSave.MENU_BACKGROUND_IMG, Game.GAME_WIDTH, Game.GAME_HEIGHT), game.getRenderMode() == RenderMode.VOLATILE);
 		optionsBackgroundImg = LoadSave.GetSpriteAtlas(LoadSave.OPTIONS_MENU);
 
 		bgW = (int) (optionsBackgroundImg.getWidth() * Game.SCALE);
@@ -51,7 +55,7 @@ public class GameOptions extends State implements Statemethods {
 
 	@Override
 	public void draw(Graphics g) {
-		g.drawImage(backgroundImg, 0, 0, Game.GAME_WIDTH, Game.GAME_HEIGHT, null);
+		backgroundImg.draw(g, 0, 0);
 		g.drawImage(optionsBackgroundImg, bgX, bgY, bgW, bgH, null);
 
 		menuB.draw(g);
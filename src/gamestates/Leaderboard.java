@@ -6,19 +6,14 @@ import java.awt.Graphics;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
 import java.awt.image.BufferedImage;
-import java.io.BufferedReader;
-import java.io.File;
-import java.io.FileReader;
-import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.Comparator;
-import java.io.InputStream;
-import java.awt.FontFormatException;
 
 import mainn.Game;
+import utilz.LeaderboardStore;
 import utilz.LoadSave;
+import utilz.TextCache;
+import utilz.TextImage;
 
 public class Leaderboard extends State implements Statemethods {
 
@@ -33,28 +28,19 @@ public class Leaderboard extends State implements Statemethods {
 
     // custom fonts
     private Font leaderboardTitleFont;
+    private Font leaderboardHeaderFont;
     private Font leaderboardContentFont;
     
-    private static class ScoreEntry {
-        String username;
-        long timeMillis;
+    // rows shown, taken from the store whenever it changes
+    private static final int SHOWN_ENTRIES = 7;
+    private List<LeaderboardStore.Entry> leaderboardData;
+    private int shownVersion = -1;
 
-        public ScoreEntry(String username, long timeMillis) {
-            this.username = username;
-            this.timeMillis = timeMillis;
-        }
-
-        public String getUsername() {
-            return username;
-        }
-
-        public long getTimeMillis() {
-            return timeMillis;
-        }
-    }
-
-    private List<ScoreEntry> leaderboardData;
-    private static final String CSV_FILE_NAME = "user_scores.csv";
+    // title, headers and rows are drawn into images once and redrawn only when the rows change
+    private TextImage titleText, usernameHeaderText, timeHeaderText;
+    private TextImage[] rankTexts = new TextImage[SHOWN_ENTRIES];
+    private TextImage[] usernameTexts = new TextImage[SHOWN_ENTRIES];
+    private TextImage[] timeTexts = new TextImage[SHOWN_ENTRIES];
 
     private BufferedImage backButtonImage;
 
@@ -63,6 +49,7 @@ public class Leaderboard extends State implements Statemethods {
         leaderboardData = new ArrayList<>();
         loadImages();
         loadFonts();
+        loadTexts();
         initUIBounds();
         loadLeaderboardData();
     }
@@ -74,32 +61,19 @@ public class Leaderboard extends State implements Statemethods {
     }
     
     private void loadFonts() {
-        try {
-            InputStream isTitle = getClass().getResourceAsStream("/fonts/Jersey15-Regular.ttf");
-            if (isTitle != null) {
-                leaderboardTitleFont = Font.createFont(Font.TRUETYPE_FONT, isTitle);
-                leaderboardTitleFont = leaderboardTitleFont.deriveFont(Font.BOLD, (float) (36 * Game.SCALE));
-                isTitle.close();
-            } else {
-                System.err.println("font file 'jersey15-regular.ttf' not found for leaderboard title. using default font.");
-                leaderboardTitleFont = new Font("Arial", Font.BOLD, (int) (48 * Game.SCALE));
-            }
-
-            InputStream isContent = getClass().getResourceAsStream("/fonts/dogicapixel.ttf");
-            if (isContent != null) {
-                leaderboardContentFont = Font.createFont(Font.TRUETYPE_FONT, isContent);
-                leaderboardContentFont = leaderboardContentFont.deriveFont(Font.PLAIN, (float) (24 * Game.SCALE));
-                isContent.close();
-            } else {
-                System.err.println("font file 'dogicapixel.ttf' not found for leaderboard content. using default font.");
-                leaderboardContentFont = new Font("Arial", Font.PLAIN, (int) (24 * Game.SCALE));
-            }
+        leaderboardTitleFont = TextCache.GetFont(LoadSave.CUSTOM_FONT_JERSEY, Font.BOLD, (float) (36 * Game.SCALE));
+        leaderboardHeaderFont = TextCache.GetFont(LoadSave.CUSTOM_FONT_DOGICA, Font.BOLD, (float) (22 * Game.SCALE));
+        leaderboardContentFont = TextCache.GetFont(LoadSave.CUSTOM_FONT_DOGICA, Font.PLAIN, (float) (24 * Game.SCALE));
+    }
 
-        } catch (FontFormatException | IOException e) {
-            System.err.println("error loading a custom font for leaderboard: " + e.getMessage());
-            e.printStackTrace();
-            leaderboardTitleFont = new Font("Arial", Font.BOLD, (int) (48 * Game.SCALE));
-            leaderboardContentFont = new Font("Arial", Font.PLAIN, (int) (24 * Game.SCALE));
+    private void loadTexts() {
+        titleText = new TextImage(leaderboardTitleFont, Color.WHITE, "leaderboard");
+        usernameHeaderText = new TextImage(leaderboardHeaderFont, Color.YELLOW, "username");
+        timeHeaderText = new TextImage(leaderboardHeaderFont, Color.YELLOW, "time");
+        for (int i = 0; i < SHOWN_ENTRIES; i++) {
+            rankTexts[i] = new TextImage(leaderboardContentFont, Color.WHITE, (i + 1) + ".");
+            usernameTexts[i] = new TextImage(leaderboardContentFont, Color.WHITE);
+            timeTexts[i] = new TextImage(leaderboardContentFont, Color.WHITE);
         }
     }
 
@@ -111,58 +85,15 @@ public class Leaderboard extends State implements Statemethods {
     }
 
     private void loadLeaderboardData() {
-        leaderboardData.clear();
-        File csvFile = new File(CSV_FILE_NAME);
-
-        if (!csvFile.exists()) {
-            System.out.println("leaderboard: csv file not found: " + CSV_FILE_NAME);
+        LeaderboardStore store = game.getLeaderboardStore();
+        if (store.getVersion() == shownVersion)
             return;
+        shownVersion = store.getVersion();
+        leaderboardData = store.getTop(SHOWN_ENTRIES);
+        for (int i = 0; i < leaderboardData.size(); i++) {
+            usernameTexts[i].setText(leaderboardData.get(i).getUsername());
+            timeTexts[i].setText(formatTime(leaderboardData.get(i).getTimeMillis()));
         }
-
-        try (BufferedReader br = new BufferedReader(new FileReader(csvFile))) {
-            String line;
-            br.readLine();
-
-            while ((line = br.readLine()) != null) {
-                String[] parts = line.split(",");
-                if (parts.length == 2) {
-                    try {
-                        String username = parts[0].trim();
-                        String timeString = parts[1].trim();
-
-                        if (timeString.startsWith("\"") && timeString.endsWith("\"") && timeString.length() > 1) {
-                            timeString = timeString.substring(1, timeString.length() - 1);
-                        }
-
-                        long timeMillis = Long.parseLong(timeString);
-                        leaderboardData.add(new ScoreEntry(username, timeMillis));
-                    } catch (NumberFormatException e) {
-                        System.err.println("leaderboard: skipping malformed line (invalid time format): " + line);
-                    }
-                } else {
-                    System.err.println("leaderboard: skipping malformed line (incorrect parts count): " + line);
-                }
-            }
-        } catch (IOException e) {
-            System.err.println("leaderboard: error reading csv file: " + e.getMessage());
-            e.printStackTrace();
-        }
-
-        Collections.sort(leaderboardData, new Comparator<ScoreEntry>() {
-            @Override
-            public int compare(ScoreEntry s1, ScoreEntry s2) {
-                boolean s1IsDnf = (s1.getTimeMillis() == 0);
-                boolean s2IsDnf = (s2.getTimeMillis() == 0);
-
-                if (s1IsDnf && !s2IsDnf) {
-                    return 1;
-                } else if (!s1IsDnf && s2IsDnf) {
-                    return -1;
-                } else {
-                    return Long.compare(s1.getTimeMillis(), s2.getTimeMillis());
-                }
-            }
-        });
     }
 
     private String formatTime(long timeMillis) {
@@ -178,6 +109,7 @@ public class Leaderboard extends State implements Statemethods {
 
     @Override
     public void update() {
+        loadLeaderboardData();
     }
 
     @Override
@@ -199,15 +131,7 @@ public class Leaderboard extends State implements Statemethods {
         }
 
         // drawing leaderboard title
-        g.setColor(Color.WHITE);
-        if (leaderboardTitleFont != null) {
-            g.setFont(leaderboardTitleFont);
-        } else {
-            g.setFont(new Font("Arial", Font.BOLD, (int) (48 * Game.SCALE)));
-        }
-        String title = "leaderboard";
-        int titleWidth = g.getFontMetrics().stringWidth(title);
-        g.drawString(title, Game.GAME_WIDTH / 2 - titleWidth / 2, (int) (Game.GAME_HEIGHT / 2 - 150 * Game.SCALE));
+        titleText.draw(g, Game.GAME_WIDTH / 2 - titleText.getWidth() / 2, (int) (Game.GAME_HEIGHT / 2 - 150 * Game.SCALE));
 
         
         // calculate box bounds
@@ -220,43 +144,23 @@ public class Leaderboard extends State implements Statemethods {
         g.setColor(new Color(100, 100, 100, 180));
         g.fillRoundRect(boxX, boxY, boxWidth, boxHeight, (int) (20 * Game.SCALE), (int) (20 * Game.SCALE));
 
-        // set font for headers
-        g.setColor(Color.YELLOW);
-        if (leaderboardContentFont != null) {
-            g.setFont(leaderboardContentFont.deriveFont(Font.BOLD, (float) (22 * Game.SCALE)));
-        } else {
-            g.setFont(new Font("Arial", Font.BOLD, (int) (22 * Game.SCALE)));
-        }
-
+        // draw headers
         int headerX = boxX + (int) (20 * Game.SCALE);
         int headerY = boxY + (int) (30 * Game.SCALE);
         int usernameColX = headerX + (int) (40 * Game.SCALE);
         int timeColX = headerX + (int) (250 * Game.SCALE);
 
-        g.drawString("", headerX, headerY);
-        g.drawString("username", usernameColX, headerY);
-        g.drawString("time", timeColX, headerY);
+        usernameHeaderText.draw(g, usernameColX, headerY);
+        timeHeaderText.draw(g, timeColX, headerY);
 
         // draw leaderboard content
-        g.setColor(Color.WHITE);
-        if (leaderboardContentFont != null) {
-            g.setFont(leaderboardContentFont);
-        } else {
-            g.setFont(new Font("Arial", Font.PLAIN, (int) (20 * Game.SCALE)));
-        }
-
         int currentY = headerY + (int) (30 * Game.SCALE);
         int lineHeight = (int) (28 * Game.SCALE);
 
-        for (int i = 0; i < Math.min(leaderboardData.size(), 7); i++) {
-            ScoreEntry entry = leaderboardData.get(i);
-            String rank = (i + 1) + ".";
-            String username = entry.getUsername();
-            String formattedTime = formatTime(entry.getTimeMillis());
-
-            g.drawString(rank, headerX, currentY);
-            g.drawString(username, usernameColX, currentY);
-            g.drawString(formattedTime, timeColX, currentY);
+        for (int i = 0; i < leaderboardData.size(); i++) {
+            rankTexts[i].draw(g, headerX, currentY);
+            usernameTexts[i].draw(g, usernameColX, currentY);
+            timeTexts[i].draw(g, timeColX, currentY);
 
             currentY += lineHeight;
         }
@@ -270,11 +174,6 @@ public class Leaderboard extends State implements Statemethods {
             g.setColor(Color.BLACK);
             g.drawRect(backButtonX, backButtonY, backButtonWidth, backButtonHeight);
         }
-        g.setColor(Color.WHITE);
-        g.setFont(new Font("Arial", Font.BOLD, (int) (16 * Game.SCALE)));
-        String backText = "";
-        int backTextWidth = g.getFontMetrics().stringWidth(backText);
-        g.drawString(backText, backButtonX + backButtonWidth / 2 - backTextWidth / 2, backButtonY + (int) (backButtonHeight * 0.7));
     }
 
     @Override
@@ -304,7 +203,6 @@ public class Leaderboard extends State implements Statemethods {
     public void keyPressed(KeyEvent e) {
         if (e.getKeyCode() == KeyEvent.VK_ESCAPE) {
             Gamestate.state = Gamestate.MENU;
-            loadLeaderboardData();
         }
     }
 
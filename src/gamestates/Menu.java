@@ -3,31 +3,41 @@ package gamestates;
 import entities.PlayerCharacter;
 import java.awt.Color;
 import java.awt.Font;
-import java.awt.FontMetrics;
 import java.awt.Graphics;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
 import java.awt.image.BufferedImage;
 
 import mainn.Game;
+import mainn.RenderMode;
 import ui.MenuButton;
+import utilz.AcceleratedImage;
 import utilz.LoadSave;
+import utilz.SpriteCache;
+import utilz.TextCache;
+import utilz.TextImage;
 
 public class Menu extends State implements Statemethods {
 
     private MenuButton[] buttons = new MenuButton[4];
-    private BufferedImage backgroundImg, backgroundImgPink;
+    private BufferedImage backgroundImg;
+    private AcceleratedImage backgroundImgPink;
     private int menuX, menuY, menuWidth, menuHeight;
 
     private Font customGameTitleFont;
     private Font customInstructionFont;
 
+    // the title, laid out and drawn once
+    private TextImage titleLine1, titleLine2;
+    private int line1X, line1Y, line2X, line2Y;
+
     public Menu(Game game) {
         super(game);
         loadButtons();
         loadBackground();
         loadCustomFonts();
-        backgroundImgPink = LoadSave.GetSpriteAtlas(LoadSave.MENU_BACKGROUND_IMG);
+        loadTitle();
+        backgroundImgPink = new AcceleratedImage(SpriteCache.GetImage(LoadSave.MENU_BACKGROUND_IMG, Game.GAME_WIDTH, Game.GAME_HEIGHT), game.getRenderMode() == RenderMode.VOLATILE);
     }
 
     private void loadBackground() {
@@ -46,16 +56,22 @@ public class Menu extends State implements Statemethods {
     }
 
     private void loadCustomFonts() {
-        Font baseFont = LoadSave.GetFont(LoadSave.CUSTOM_FONT_ARCADE_CLASSIC);
-
-        if (baseFont != null) {
-            customGameTitleFont = baseFont.deriveFont(Font.BOLD, (float)(40 * Game.SCALE));
-            customInstructionFont = baseFont.deriveFont(Font.PLAIN, (float)(16 * Game.SCALE));
-        } else {
-            System.err.println("custom font 'jersey15-regular.ttf' not loaded. falling back to arial.");
-            customGameTitleFont = new Font("Arial", Font.PLAIN, (int)(36 * Game.SCALE));
-            customInstructionFont = new Font("Arial", Font.PLAIN, (int)(16 * Game.SCALE));
-        }
+        customGameTitleFont = TextCache.GetFont(LoadSave.CUSTOM_FONT_ARCADE_CLASSIC, Font.BOLD, (float)(40 * Game.SCALE));
+        customInstructionFont = TextCache.GetFont(LoadSave.CUSTOM_FONT_ARCADE_CLASSIC, Font.PLAIN, (float)(16 * Game.SCALE));
+    }
+
+    private void loadTitle() {
+        Color color = new Color(255, 255, 255);
+        titleLine1 = new TextImage(customGameTitleFont, color, "jump up");
+        titleLine2 = new TextImage(customGameTitleFont, color, "superstar!");
+
+        line1X = (Game.GAME_WIDTH - titleLine1.getWidth()) / 2;
+
+        int offsetX = (int) (5.5 * Game.SCALE);        
+        line2X = (Game.GAME_WIDTH - titleLine2.getWidth()) / 2 + offsetX;
+
+        line1Y = (int) (65 * Game.SCALE);
+        line2Y = line1Y + titleLine1.getHeight() + (int) (-12 * Game.SCALE);
     }
 
     @Override
@@ -71,32 +87,12 @@ public class Menu extends State implements Statemethods {
 
     @Override
     public void draw(Graphics g) {
-        g.drawImage(backgroundImgPink, 0, 0, Game.GAME_WIDTH, Game.GAME_HEIGHT, null);
+        backgroundImgPink.draw(g, 0, 0);
         g.drawImage(backgroundImg, menuX, menuY, menuWidth, menuHeight, null);
 
-        g.setFont(customGameTitleFont);
-        g.setColor(new Color(255, 255, 255));
-
         // title drawing
-        String line1 = "jump up";
-        String line2 = "superstar!";
-
-        FontMetrics fm = g.getFontMetrics(customGameTitleFont);
-
-        int line1Width = fm.stringWidth(line1);
-        int line1X = (Game.GAME_WIDTH - line1Width) / 2;
-
-        int line2Width = fm.stringWidth(line2);
-        int offsetX = (int) (5.5 * Game.SCALE);        
-        int line2X = (Game.GAME_WIDTH - line2Width) / 2 + offsetX;
-
-        
-        int line1Y = (int) (65 * Game.SCALE);
-
-        int line2Y = line1Y + fm.getHeight() + (int) (-12 * Game.SCALE);
-
-        g.drawString(line1, line1X, line1Y);
-        g.drawString(line2, line2X, line2Y);
+        titleLine1.draw(g, line1X, line1Y);
+        titleLine2.draw(g, line2X, line2Y);
 
         for (MenuButton mb : buttons) {
             mb.draw(g);
@@ -6,7 +6,6 @@ import java.awt.event.MouseEvent;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
 import java.util.Random;
-import java.util.ArrayList;
 import java.awt.Color;
 import java.awt.Font;
 
@@ -15,13 +14,23 @@ import entities.Player;
 import entities.PlayerCharacter;
 import levels.LevelManager;
 import mainn.Game;
+import mainn.RenderMode;
 import objects.ObjectManager;
 import ui.GameCompletedOverlay;
 import ui.GameOverOverlay;
 import ui.LevelCompletedOverlay;
+import ui.MetricsOverlay;
 import ui.PauseOverlay;
+import utilz.AcceleratedImage;
+import utilz.GameRandom;
 import utilz.LoadSave;
+import utilz.Metrics;
+import utilz.SpriteCache;
+import utilz.TextCache;
+import utilz.TextImage;
+import utilz.Viewport;
 import effects.DialogueEffect;
+import effects.EffectPool;
 import effects.Rain;
 
 import static utilz.Constants.Environment.*;
@@ -34,27 +43,37 @@ public class Playing extends State implements Statemethods {
     private EnemyManager enemyManager;
     private ObjectManager objectManager;
     private PauseOverlay pauseOverlay;
+    private MetricsOverlay metricsOverlay;
+    private boolean showMetrics = Boolean.getBoolean("jump.metrics");
     private GameOverOverlay gameOverOverlay;
     private GameCompletedOverlay gameCompletedOverlay;
     private LevelCompletedOverlay levelCompletedOverlay;
     private Rain rain;
+    private Viewport viewport = new Viewport();
 
     private boolean paused = false;
 
-    private long totalGameTimeMillis = 0;
-    private long lastTimerUpdateNanos = System.nanoTime();
+    // the run timer counts simulated ticks, so the same inputs give the same time
+    private long totalGameTicks = 0;
     
     private int xLvlOffset;
     private int leftBorder = (int) (0.25 * Game.GAME_WIDTH);
     private int rightBorder = (int) (0.75 * Game.GAME_WIDTH);
     private int maxLvlOffsetX;
 
-    private BufferedImage backgroundImg, bigCloud, smallCloud, shipImgs[];
+    // pre-scaled, and kept in video memory with -Djump.render=volatile
+    private AcceleratedImage backgroundImg, bigCloud, smallCloud;
+    private BufferedImage[] shipImgs;
     private BufferedImage[] questionImgs, exclamationImgs;
-    private ArrayList<DialogueEffect> dialogEffects = new ArrayList<>();
+    // dialogue bubbles over enemies; past this many of a type the oldest is reused
+    private static final int MAX_DIALOGUES_PER_TYPE = 10;
+    private EffectPool<DialogueEffect> dialogEffects = new EffectPool<>(DIALOGUE_TYPES, MAX_DIALOGUES_PER_TYPE, type -> new DialogueEffect(0, 0, type));
 
     private int[] smallCloudsPos;
-    private Random rnd = new Random();
+    // hud timer, drawn again only when the second it shows changes
+    private TextImage timerText = new TextImage(TextCache.GetSystemFont("Arial", Font.BOLD, (int) (24 * Game.SCALE)), Color.WHITE);
+    private long timerSeconds = -1;
+    private Random rnd = GameRandom.Create(GameRandom.PLAYING);
 
     private boolean gameOver;
     private boolean lvlCompleted;
@@ -70,9 +89,10 @@ public class Playing extends State implements Statemethods {
         super(game);
         initClasses();
 
-        backgroundImg = LoadSave.GetSpriteAtlas(LoadSave.PLAYING_BG_IMG);
-        bigCloud = LoadSave.GetSpriteAtlas(LoadSave.BIG_CLOUDS);
-        smallCloud = LoadSave.GetSpriteAtlas(LoadSave.SMALL_CLOUDS);
+        boolean accelerated = game.getRenderMode() == RenderMode.VOLATILE;
+        backgroundImg = new AcceleratedImage(SpriteCache.GetImage(LoadSave.PLAYING_BG_IMG, Game.GAME_WIDTH, Game.GAME_HEIGHT), accelerated);
+        bigCloud = new AcceleratedImage(SpriteCache.GetImage(LoadSave.BIG_CLOUDS, BIG_CLOUD_WIDTH, BIG_CLOUD_HEIGHT), accelerated);
+        smallCloud = new AcceleratedImage(SpriteCache.GetImage(LoadSave.SMALL_CLOUDS, SMALL_CLOUD_WIDTH, SMALL_CLOUD_HEIGHT), accelerated);
         smallCloudsPos = new int[8];
         for (int i = 0; i < smallCloudsPos.length; i++)
             smallCloudsPos[i] = (int) (90 * Game.SCALE) + rnd.nextInt((int) (100 * Game.SCALE));
@@ -82,23 +102,12 @@ public class Playing extends State implements Statemethods {
         for (int i = 0; i < shipImgs.length; i++)
             shipImgs[i] = temp.getSubimage(i * 78, 0, 78, 72);
 
-        loadDialogue();
+        loadDialogueImgs();
         calcLvlOffset();
         loadStartLevel();
         setDrawRainBoolean();
     }
 
-    private void loadDialogue() {
-        loadDialogueImgs();
-        for (int i = 0; i < 10; i++)
-            dialogEffects.add(new DialogueEffect(0, 0, EXCLAMATION));
-        for (int i = 0; i < 10; i++)
-            dialogEffects.add(new DialogueEffect(0, 0, QUESTION));
-
-        for (DialogueEffect de : dialogEffects)
-            de.deactive();
-    }
-
     private void loadDialogueImgs() {
         BufferedImage qtemp = LoadSave.GetSpriteAtlas(LoadSave.QUESTION_ATLAS);
         questionImgs = new BufferedImage[5];
@@ -136,26 +145,35 @@ public class Playing extends State implements Statemethods {
         player = new Player(PlayerCharacter.FROG, this);
         
         pauseOverlay = new PauseOverlay(this);
+        metricsOverlay = new MetricsOverlay(this);
         gameOverOverlay = new GameOverOverlay(this);
         levelCompletedOverlay = new LevelCompletedOverlay(this);
         gameCompletedOverlay = new GameCompletedOverlay(this);
 
-        rain = new Rain();
+        // heavier weather: -Djump.rain.drops=<count> -Djump.rain.intensity=<0..1>
+        rain = new Rain(Integer.getInteger("jump.rain.drops", Rain.DEFAULT_DROPS));
+        rain.setIntensity(GetFloatProperty("jump.rain.intensity", 1f));
         
-        player.loadLvlData(levelManager.getCurrentLevel().getLevelData());
+        player.loadLvlData(levelManager.getCurrentLevel().getCollisionGrid());
         player.setSpawn(levelManager.getCurrentLevel().getPlayerSpawn());
     }
 
+    // like Integer.getInteger: unset or malformed values give the default
+    private static float GetFloatProperty(String key, float defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null)
+            return defaultValue;
+        try {
+            return Float.parseFloat(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
     @Override
 public void update() {
-    if (!paused && !lvlCompleted && !gameOver && !playerDying) { 
-        long now = System.nanoTime();
-        long elapsedTimeNanos = now - lastTimerUpdateNanos;
-        totalGameTimeMillis += elapsedTimeNanos / 1_000_000; 
-        lastTimerUpdateNanos = now;
-    } else {
-        lastTimerUpdateNanos = System.nanoTime();
-    }
+    if (!paused && !lvlCompleted && !gameOver && !playerDying)
+        totalGameTicks++;
 
     if (paused) {
         pauseOverlay.update();
@@ -167,7 +185,8 @@ public void update() {
         if (Gamestate.state != Gamestate.REGISTER) {
             game.getAudioPlayer().stopSong(); 
             Register registerState = game.getRegister();
-            registerState.setFinalGameTime(totalGameTimeMillis);
+            registerState.setFinalGameTime(getTotalGameTimeMillis());
+            game.endRecording(true);
             Gamestate.state = Gamestate.REGISTER;
 
         }
@@ -179,10 +198,16 @@ public void update() {
         updateDialogue();
         if (drawRain)
             rain.update(xLvlOffset);
+        Metrics metrics = game.getMetrics();
+        long t = System.nanoTime();
         levelManager.update();
-        objectManager.update(levelManager.getCurrentLevel().getLevelData(), player);
+        t = metrics.lap(Metrics.LEVEL_UPDATE, t);
+        objectManager.update(levelManager.getCurrentLevel().getCollisionGrid(), player);
+        t = metrics.lap(Metrics.OBJECTS_UPDATE, t);
         player.update();
-        enemyManager.update(levelManager.getCurrentLevel().getLevelData(), player);
+        t = metrics.lap(Metrics.PLAYER_UPDATE, t);
+        enemyManager.update(levelManager.getCurrentLevel().getCollisionGrid(), player);
+        metrics.lap(Metrics.ENEMIES_UPDATE, t);
         checkCloseToBorder();
         if (drawShip)
             updateShipAni();
@@ -209,14 +234,13 @@ public void update() {
     }
 
     private void updateDialogue() {
-        for (DialogueEffect de : dialogEffects)
-            if (de.isActive())
-                de.update();
+        dialogEffects.update();
     }
 
     private void drawDialogue(Graphics g, int xLvlOffset) {
-        for (DialogueEffect de : dialogEffects)
-            if (de.isActive()) {
+        for (int i = 0; i < dialogEffects.getSlotCount(); i++)
+            if (dialogEffects.isActive(i)) {
+                DialogueEffect de = dialogEffects.get(i);
                 if (de.getType() == QUESTION)
                     g.drawImage(questionImgs[de.getAniIndex()], de.getX() - xLvlOffset, de.getY(), DIALOGUE_WIDTH, DIALOGUE_HEIGHT, null);
                 else
@@ -225,13 +249,7 @@ public void update() {
     }
 
     public void addDialogue(int x, int y, int type) {
-        dialogEffects.add(new DialogueEffect(x, y - (int) (Game.SCALE * 15), type));
-        for (DialogueEffect de : dialogEffects)
-            if (!de.isActive())
-                if (de.getType() == type) {
-                    de.reset(x, -(int) (Game.SCALE * 15));
-                    return;
-                }
+        dialogEffects.spawn(type).reset(x, y - (int) (Game.SCALE * 15));
     }
 
     private void checkCloseToBorder() {
@@ -248,19 +266,26 @@ public void update() {
 
     @Override
 public void draw(Graphics g) {
-    g.drawImage(backgroundImg, 0, 0, Game.GAME_WIDTH, Game.GAME_HEIGHT, null);
+    viewport.beginFrame(xLvlOffset);
+    backgroundImg.draw(g, 0, 0);
 
     drawClouds(g);
     if (drawRain)
-        rain.draw(g, xLvlOffset);
+        rain.draw(g, viewport);
 
     if (drawShip)
         g.drawImage(shipImgs[shipAni], (int) (100 * Game.SCALE) - xLvlOffset, (int) ((288 * Game.SCALE) + shipHeightDelta), (int) (78 * Game.SCALE), (int) (72 * Game.SCALE), null);
 
+    Metrics metrics = game.getMetrics();
+    long t = System.nanoTime();
     levelManager.draw(g, xLvlOffset);
+    t = metrics.lap(Metrics.LEVEL_DRAW, t);
     objectManager.draw(g, xLvlOffset);
+    t = metrics.lap(Metrics.OBJECTS_DRAW, t);
     enemyManager.draw(g, xLvlOffset);
+    t = metrics.lap(Metrics.ENEMIES_DRAW, t);
     player.render(g, xLvlOffset);
+    metrics.lap(Metrics.PLAYER_DRAW, t);
     objectManager.drawBackgroundTrees(g, xLvlOffset);
     drawDialogue(g, xLvlOffset);
 
@@ -276,36 +301,42 @@ public void draw(Graphics g) {
         levelCompletedOverlay.draw(g);
     else if (gameCompleted)
         gameCompletedOverlay.draw(g);
+
+    if (showMetrics)
+        metricsOverlay.draw(g);
 }
 
 private void drawGameTimer(Graphics g) {
-    long totalSeconds = totalGameTimeMillis / 1000;
-    long minutes = totalSeconds / 60;
-    long seconds = totalSeconds % 60;
-
-    String timeString = String.format("%02d:%02d", minutes, seconds);
-
-    g.setColor(Color.WHITE);
-
-    g.setFont(new Font("Arial", Font.BOLD, (int)(24 * Game.SCALE))); 
-
+    long totalSeconds = getTotalGameTimeMillis() / 1000;
+    if (totalSeconds != timerSeconds) {
+        timerSeconds = totalSeconds;
+        long minutes = totalSeconds / 60;
+        long seconds = totalSeconds % 60;
+        timerText.setText(String.format("Time: %02d:%02d", minutes, seconds));
+    }
 
     int xPos = (int)(Game.GAME_WIDTH - 150 * Game.SCALE); 
     int yPos = (int)(40 * Game.SCALE); 
 
-    g.drawString("Time: " + timeString, xPos, yPos);
+    timerText.draw(g, xPos, yPos);
 }
     
     public long getTotalGameTimeMillis() {
-        return totalGameTimeMillis;
+        return totalGameTicks * 1000 / Game.UPS_SET;
     }
 
     private void drawClouds(Graphics g) {
-        for (int i = 0; i < 4; i++)
-            g.drawImage(bigCloud, i * BIG_CLOUD_WIDTH - (int) (xLvlOffset * 0.3), (int) (204 * Game.SCALE), BIG_CLOUD_WIDTH, BIG_CLOUD_HEIGHT, null);
+        for (int i = 0; i < 4; i++) {
+            int x = i * BIG_CLOUD_WIDTH - (int) (xLvlOffset * 0.3);
+            if (viewport.isOnScreen(x, BIG_CLOUD_WIDTH))
+                bigCloud.draw(g, x, (int) (204 * Game.SCALE));
+        }
 
-        for (int i = 0; i < smallCloudsPos.length; i++)
-            g.drawImage(smallCloud, SMALL_CLOUD_WIDTH * 4 * i - (int) (xLvlOffset * 0.7), smallCloudsPos[i], SMALL_CLOUD_WIDTH, SMALL_CLOUD_HEIGHT, null);
+        for (int i = 0; i < smallCloudsPos.length; i++) {
+            int x = SMALL_CLOUD_WIDTH * 4 * i - (int) (xLvlOffset * 0.7);
+            if (viewport.isOnScreen(x, SMALL_CLOUD_WIDTH))
+                smallCloud.draw(g, x, smallCloudsPos[i]);
+        }
     }
 
     public void setGameCompleted() {
@@ -316,8 +347,8 @@ private void drawGameTimer(Graphics g) {
     }
     
     public void startNewGameSession() {
-        totalGameTimeMillis = 0; 
-        lastTimerUpdateNanos = System.nanoTime(); 
+        totalGameTicks = 0;
+        rnd = GameRandom.Create(GameRandom.PLAYING);
         
         levelManager.setLevelIndex(0); 
         levelManager.loadNextLevel();
@@ -335,6 +366,7 @@ private void drawGameTimer(Graphics g) {
 //        setDrawRainBoolean();
 
         player.resetAll();
+        levelManager.streamAroundPlayer();
         enemyManager.resetAllEnemies();
         objectManager.resetAllObjects();
         dialogEffects.clear();
@@ -374,6 +406,8 @@ private void drawGameTimer(Graphics g) {
 
     @Override
     public void keyPressed(KeyEvent e) {
+        if (e.getKeyCode() == KeyEvent.VK_F3)
+            showMetrics = !showMetrics;
         if (!gameOver && !gameCompleted && !lvlCompleted)
             switch (e.getKeyCode()) {
                 case KeyEvent.VK_A:
@@ -493,6 +527,23 @@ private void drawGameTimer(Graphics g) {
         return levelManager;
     }
 
+    public int getDialogueCount() {
+        return dialogEffects.getActiveCount();
+    }
+
+    public int getRainDropCount() {
+        return drawRain ? rain.getDropCount() : 0;
+    }
+
+    // times the background and clouds had to be copied into video memory again
+    public int getBackgroundRestoreCount() {
+        return backgroundImg.getRestoreCount() + bigCloud.getRestoreCount() + smallCloud.getRestoreCount();
+    }
+
+    public Viewport getViewport() {
+        return viewport;
+    }
+
     public void setPlayerDying(boolean playerDying) {
         this.playerDying = playerDying;
     }
@@ -5,17 +5,10 @@ import java.awt.Font;
 import java.awt.Graphics;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.io.PrintWriter;
 import java.awt.image.BufferedImage;
 import utilz.LoadSave;
-import java.awt.FontFormatException;
-import java.io.InputStream;
+import utilz.TextCache;
+import utilz.TextImage;
 
 
 import mainn.Game;
@@ -24,6 +17,8 @@ public class Register extends State implements Statemethods {
 
     private Font customInputFont;
     private Font titleFont;
+    // drawn into images once; the feedback text again only when the message changes
+    private TextImage titleText, feedbackText;
     
     // game data
     private long finalGameTimeMillis = 0;
@@ -56,10 +51,6 @@ public class Register extends State implements Statemethods {
     private long messageDisplayEndTime = 0;
     private final long MESSAGE_DURATION = 3000;
 
-    // csv file configuration
-    private static final String CSV_FILE_NAME = "user_scores.csv";
-    private static final String CSV_HEADER = "Username,TimeMillis\n";
-
     public Register(Game game) {
         super(game);
         loadImages();
@@ -68,33 +59,11 @@ public class Register extends State implements Statemethods {
     }
     
     private void loadFonts() {
-        try {
-            InputStream is = getClass().getResourceAsStream("/fonts/dogicapixel.ttf");
-            if (is != null) {
-                customInputFont = Font.createFont(Font.TRUETYPE_FONT, is);
-                customInputFont = customInputFont.deriveFont(Font.PLAIN, (float) (16 * Game.SCALE));
-
-                is.close();
-            } else {
-                System.err.println("font file 'dogicapixel.ttf' not found. make sure it's in your resources folder.");
-                customInputFont = new Font("arial", Font.PLAIN, (int) (24 * Game.SCALE));
-            }
-            
-            InputStream isTitle = getClass().getResourceAsStream("/fonts/jersey15-regular.ttf");
-            if (isTitle != null) {
-                titleFont = Font.createFont(Font.TRUETYPE_FONT, isTitle);
-                titleFont = titleFont.deriveFont(Font.BOLD, (float) (36 * Game.SCALE));
-                isTitle.close();
-            } else {
-                System.err.println("font file 'jersey15-regular.ttf' not found. using default font for title.");
-                titleFont = new Font("arial", Font.BOLD, (int) (48 * Game.SCALE));
-            }
-            
-        } catch (FontFormatException | IOException e) {
-            System.err.println("error loading font 'dogicapixel.ttf': " + e.getMessage());
-            e.printStackTrace();
-            customInputFont = new Font("arial", Font.PLAIN, (int) (24 * Game.SCALE));
-        }
+        customInputFont = TextCache.GetFont(LoadSave.CUSTOM_FONT_DOGICA, Font.PLAIN, (float) (16 * Game.SCALE));
+        titleFont = TextCache.GetFont(LoadSave.CUSTOM_FONT_JERSEY, Font.BOLD, (float) (36 * Game.SCALE));
+
+        titleText = new TextImage(titleFont, Color.WHITE, "enter username");
+        feedbackText = new TextImage(TextCache.GetFont(LoadSave.CUSTOM_FONT_JERSEY, Font.BOLD, (float) (20 * Game.SCALE)), Color.YELLOW);
     }
 
     private void loadImages() {
@@ -161,11 +130,7 @@ public class Register extends State implements Statemethods {
         }
 
         // draw title
-        g.setColor(Color.WHITE);
-        g.setFont(titleFont);
-        String title = "enter username";
-        int titleWidth = g.getFontMetrics().stringWidth(title);
-        g.drawString(title, Game.GAME_WIDTH / 2 - titleWidth / 2, (int) (Game.GAME_HEIGHT / 2 - 150 * Game.SCALE));
+        titleText.draw(g, Game.GAME_WIDTH / 2 - titleText.getWidth() / 2, (int) (Game.GAME_HEIGHT / 2 - 150 * Game.SCALE));
 
         // draw username input box
         if (inputBoxImage != null) {
@@ -209,10 +174,8 @@ public class Register extends State implements Statemethods {
 
         // draw feedback message
         if (!feedbackMessage.isEmpty()) {
-            g.setColor(Color.YELLOW);
-            g.setFont(titleFont.deriveFont(Font.BOLD, (float) (20 * Game.SCALE)));
-            int msgWidth = g.getFontMetrics().stringWidth(feedbackMessage);
-            g.drawString(feedbackMessage, Game.GAME_WIDTH / 2 - msgWidth / 2, (int) (submitButtonY + submitButtonHeight + 40 * Game.SCALE));
+            feedbackText.setText(feedbackMessage);
+            feedbackText.draw(g, Game.GAME_WIDTH / 2 - feedbackText.getWidth() / 2, (int) (submitButtonY + submitButtonHeight + 40 * Game.SCALE));
         }
     }
 
@@ -301,7 +264,7 @@ public class Register extends State implements Statemethods {
         this.finalGameTimeMillis = timeMillis;
     }
 
-    // csv file handling methods
+    // score submission
     private void handleSubmit() {
         String username = usernameInput.toString().trim();
 
@@ -310,7 +273,7 @@ public class Register extends State implements Statemethods {
             return;
         }
 
-        if (saveToCSV(username, finalGameTimeMillis)) {
+        if (game.getLeaderboardStore().submit(username, finalGameTimeMillis)) {
             displayFeedback("username registered successfully!", Color.GREEN);
             shouldTransitionToMenu = true;
         } else {
@@ -324,49 +287,6 @@ public class Register extends State implements Statemethods {
     }
 
 
-    private boolean saveToCSV(String username, long timeMillis) {
-        File csvFile = new File(CSV_FILE_NAME);
-        boolean fileExists = csvFile.exists();
-
-        try (FileWriter fw = new FileWriter(csvFile, true);
-             BufferedWriter bw = new BufferedWriter(fw);
-             PrintWriter out = new PrintWriter(bw)) {
-
-            if (!fileExists) {
-                out.print(CSV_HEADER);
-            }
-
-            out.printf("%s,%d\n", username, timeMillis);
-            return true;
-        } catch (IOException e) {
-            System.err.println("error writing to csv file: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
-    }
-
-    private boolean usernameExists(String username) {
-        File csvFile = new File(CSV_FILE_NAME);
-        if (!csvFile.exists()) {
-            return false;
-        }
-
-        try (BufferedReader br = new BufferedReader(new FileReader(csvFile))) {
-            String line;
-            br.readLine();
-            while ((line = br.readLine()) != null) {
-                String[] parts = line.split(",");
-                if (parts.length > 0 && parts[0].trim().equalsIgnoreCase(username.trim())) {
-                    return true;
-                }
-            }
-        } catch (IOException e) {
-            System.err.println("error reading csv file to check username: " + e.getMessage());
-            e.printStackTrace();
-        }
-        return false;
-    }
-
     // helper method: check if mouse event is within given bounds
     private boolean isInBounds(MouseEvent e, int x, int y, int width, int height) {
         return e.getX() >= x && e.getX() <= x + width &&
@@ -0,0 +1,96 @@
+package inputs;
+
+import java.awt.event.InputEvent;
+import java.util.concurrent.atomic.AtomicLong;
+
+// single-producer / single-consumer ring of input events. the AWT listeners
+// push on the EDT and the game thread drains it at the start of every update,
+// so game state is only ever touched by the game thread, and an event always
+// lands in the first tick after it arrived. each event is stamped with the
+// System.nanoTime() it was pushed at. when the ring is full the new event is
+// dropped and counted; the game thread would have to stall for 1024 events.
+//   while (queue.poll()) { queue.getKind(); queue.getEvent(); ... }
+public class InputQueue {
+
+	public static final int KEY_PRESSED = 0;
+	public static final int KEY_RELEASED = 1;
+	public static final int KEY_TYPED = 2;
+	public static final int MOUSE_PRESSED = 3;
+	public static final int MOUSE_RELEASED = 4;
+	public static final int MOUSE_CLICKED = 5;
+	public static final int MOUSE_MOVED = 6;
+	public static final int MOUSE_DRAGGED = 7;
+	// the window lost focus; carries no event
+	public static final int FOCUS_LOST = 8;
+
+	// power of two, so the index wraps with a mask
+	private static final int CAPACITY = 1024;
+	private static final int MASK = CAPACITY - 1;
+
+	private final int[] kinds = new int[CAPACITY];
+	private final InputEvent[] events = new InputEvent[CAPACITY];
+	private final long[] stamps = new long[CAPACITY];
+
+	// next slot to read, written by the consumer only
+	private final AtomicLong head = new AtomicLong();
+	// next slot to write, written by the producer only
+	private final AtomicLong tail = new AtomicLong();
+	private volatile long droppedCount;
+
+	// the event last returned by poll
+	private int kind;
+	private InputEvent event;
+	private long stamp;
+
+	// producer side
+	public boolean push(int kind, InputEvent event) {
+		long t = tail.get();
+		if (t - head.get() == CAPACITY) {
+			droppedCount++;
+			return false;
+		}
+		int i = (int) t & MASK;
+		kinds[i] = kind;
+		events[i] = event;
+		stamps[i] = System.nanoTime();
+		// publishes the slot: the consumer reads tail before the slot
+		tail.lazySet(t + 1);
+		return true;
+	}
+
+	// consumer side: takes the oldest event, false when there is none
+	public boolean poll() {
+		long h = head.get();
+		if (h == tail.get())
+			return false;
+		int i = (int) h & MASK;
+		kind = kinds[i];
+		event = events[i];
+		stamp = stamps[i];
+		events[i] = null;
+		// hands the slot back to the producer
+		head.lazySet(h + 1);
+		return true;
+	}
+
+	public int getKind() {
+		return kind;
+	}
+
+	public InputEvent getEvent() {
+		return event;
+	}
+
+	// System.nanoTime() the event was pushed at
+	public long getStamp() {
+		return stamp;
+	}
+
+	public int size() {
+		return (int) (tail.get() - head.get());
+	}
+
+	public long getDroppedCount() {
+		return droppedCount;
+	}
+}
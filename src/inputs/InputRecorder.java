@@ -0,0 +1,51 @@
+package inputs;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import utilz.GameRandom;
+
+// records the input of each game session into a replay file in the given folder.
+// events are recorded on the game thread as the InputQueue is drained, so each
+// one is stamped with the tick that applied it; end can also come from the
+// shutdown hook.
+public class InputRecorder {
+
+	private Path folder;
+	private Replay replay;
+	private long sessionStartTick;
+	private int sessionCount;
+
+	public InputRecorder(Path folder) {
+		this.folder = folder;
+	}
+
+	public synchronized void begin(long gameTick, int ups) {
+		if (replay != null)
+			end(gameTick, false, 0);
+		replay = new Replay(GameRandom.GetSeed(), ups);
+		sessionStartTick = gameTick;
+	}
+
+	public synchronized void record(long gameTick, int kind, int data) {
+		if (replay != null)
+			replay.add(gameTick - sessionStartTick, kind, data);
+	}
+
+	public synchronized void end(long gameTick, boolean completed, long timeMillis) {
+		if (replay == null)
+			return;
+		replay.finish(completed, gameTick - sessionStartTick, timeMillis);
+		try {
+			Files.createDirectories(folder);
+			Path file = folder.resolve("replay-" + System.currentTimeMillis() + "-" + (sessionCount++) + ".jrpl");
+			replay.write(file);
+			System.out.println("Replay saved: " + file);
+		} catch (IOException e) {
+			e.printStackTrace();
+			System.err.println("Failed to save replay in: " + folder);
+		}
+		replay = null;
+	}
+}
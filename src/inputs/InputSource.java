@@ -0,0 +1,13 @@
+package inputs;
+
+import mainn.Game;
+
+// input that is fed to the game tick by tick instead of coming from AWT listeners
+public interface InputSource {
+
+	// called right before the given tick is simulated
+	public void feed(long tick, Game game);
+
+	// true once there is no more input to come
+	public boolean isFinished(long tick);
+}
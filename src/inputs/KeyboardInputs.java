@@ -4,43 +4,59 @@ import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 
 import gamestates.Gamestate;
-import mainn.GamePanel;
+import mainn.Game;
 
+// the listener side only queues the event; the dispatch methods run on the
+// game thread when Game drains the InputQueue (or when a replay feeds input)
 public class KeyboardInputs implements KeyListener {
 
-    private GamePanel gamePanel;
+    private Game game;
 
-    public KeyboardInputs(GamePanel gamePanel) {
-        this.gamePanel = gamePanel;
+    public KeyboardInputs(Game game) {
+        this.game = game;
     }
 
     @Override
     public void keyReleased(KeyEvent e) {
-        switch (Gamestate.state) {
-            case MENU -> gamePanel.getGame().getMenu().keyReleased(e);
-            case PLAYING -> gamePanel.getGame().getPlaying().keyReleased(e);
-            case OPTIONS -> gamePanel.getGame().getGameOptions().keyReleased(e);
-            case REGISTER -> gamePanel.getGame().getRegister().keyReleased(e);
-            case LEADERBOARD -> gamePanel.getGame().getLeaderboard().keyReleased(e); 
-        }
+        game.getInputQueue().push(InputQueue.KEY_RELEASED, e);
     }
 
     @Override
     public void keyPressed(KeyEvent e) {
-        switch (Gamestate.state) {
-            case MENU -> gamePanel.getGame().getMenu().keyPressed(e);
-            case PLAYING -> gamePanel.getGame().getPlaying().keyPressed(e);
-            case OPTIONS -> gamePanel.getGame().getGameOptions().keyPressed(e);
-            case REGISTER -> gamePanel.getGame().getRegister().keyPressed(e);
-            case LEADERBOARD -> gamePanel.getGame().getLeaderboard().keyPressed(e);
-        }
+        game.getInputQueue().push(InputQueue.KEY_PRESSED, e);
     }
 
     @Override
     public void keyTyped(KeyEvent e) {
+        game.getInputQueue().push(InputQueue.KEY_TYPED, e);
+    }
+
+    public void dispatchKeyReleased(KeyEvent e) {
+        game.recordInput(Replay.KEY_RELEASED, e.getKeyCode());
+        switch (Gamestate.state) {
+            case MENU -> game.getMenu().keyReleased(e);
+            case PLAYING -> game.getPlaying().keyReleased(e);
+            case OPTIONS -> game.getGameOptions().keyReleased(e);
+            case REGISTER -> game.getRegister().keyReleased(e);
+            case LEADERBOARD -> game.getLeaderboard().keyReleased(e); 
+        }
+    }
+
+    public void dispatchKeyPressed(KeyEvent e) {
+        game.recordInput(Replay.KEY_PRESSED, e.getKeyCode());
+        switch (Gamestate.state) {
+            case MENU -> game.getMenu().keyPressed(e);
+            case PLAYING -> game.getPlaying().keyPressed(e);
+            case OPTIONS -> game.getGameOptions().keyPressed(e);
+            case REGISTER -> game.getRegister().keyPressed(e);
+            case LEADERBOARD -> game.getLeaderboard().keyPressed(e);
+        }
+    }
+
+    public void dispatchKeyTyped(KeyEvent e) {
         switch (Gamestate.state) {
-            case REGISTER -> gamePanel.getGame().getRegister().keyTyped(e);
-            case LEADERBOARD -> gamePanel.getGame().getLeaderboard().keyTyped(e);
+            case REGISTER -> game.getRegister().keyTyped(e);
+            case LEADERBOARD -> game.getLeaderboard().keyTyped(e);
         }
     }
-}
\ No newline at end of file
+}
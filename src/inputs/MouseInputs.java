@@ -5,66 +5,91 @@ import java.awt.event.MouseListener;
 import java.awt.event.MouseMotionListener;
 
 import gamestates.Gamestate;
-import mainn.GamePanel;
+import mainn.Game;
 
+// like KeyboardInputs: listeners queue, dispatch methods run on the game thread
 public class MouseInputs implements MouseListener, MouseMotionListener {
 
-    private GamePanel gamePanel;
+    private Game game;
 
-    public MouseInputs(GamePanel gamePanel) {
-        this.gamePanel = gamePanel;
+    public MouseInputs(Game game) {
+        this.game = game;
     }
 
-    @SuppressWarnings("incomplete-switch")
     @Override
     public void mouseDragged(MouseEvent e) {
+        game.getInputQueue().push(InputQueue.MOUSE_DRAGGED, e);
+    }
+
+    @Override
+    public void mouseMoved(MouseEvent e) {
+        game.getInputQueue().push(InputQueue.MOUSE_MOVED, e);
+    }
+
+    @Override
+    public void mouseClicked(MouseEvent e) {
+        game.getInputQueue().push(InputQueue.MOUSE_CLICKED, e);
+    }
+
+    @Override
+    public void mousePressed(MouseEvent e) {
+        game.getInputQueue().push(InputQueue.MOUSE_PRESSED, e);
+    }
+
+    @Override
+    public void mouseReleased(MouseEvent e) {
+        game.getInputQueue().push(InputQueue.MOUSE_RELEASED, e);
+    }
+
+    @SuppressWarnings("incomplete-switch")
+    public void dispatchMouseDragged(MouseEvent e) {
+        game.recordInput(Replay.MOUSE_DRAGGED, Replay.PackMouse(e.getX(), e.getY()));
         switch (Gamestate.state) {
-            case PLAYING -> gamePanel.getGame().getPlaying().mouseDragged(e);
-            case OPTIONS -> gamePanel.getGame().getGameOptions().mouseDragged(e);
+            case PLAYING -> game.getPlaying().mouseDragged(e);
+            case OPTIONS -> game.getGameOptions().mouseDragged(e);
         }
     }
 
     @SuppressWarnings("incomplete-switch")
-    @Override
-    public void mouseMoved(MouseEvent e) {
+    public void dispatchMouseMoved(MouseEvent e) {
+        game.recordInput(Replay.MOUSE_MOVED, Replay.PackMouse(e.getX(), e.getY()));
         switch (Gamestate.state) {
-            case MENU -> gamePanel.getGame().getMenu().mouseMoved(e);
-            case PLAYING -> gamePanel.getGame().getPlaying().mouseMoved(e);
-            case OPTIONS -> gamePanel.getGame().getGameOptions().mouseMoved(e);
-            case REGISTER -> gamePanel.getGame().getRegister().mouseMoved(e); 
-            case LEADERBOARD -> gamePanel.getGame().getLeaderboard().mouseMoved(e); 
+            case MENU -> game.getMenu().mouseMoved(e);
+            case PLAYING -> game.getPlaying().mouseMoved(e);
+            case OPTIONS -> game.getGameOptions().mouseMoved(e);
+            case REGISTER -> game.getRegister().mouseMoved(e); 
+            case LEADERBOARD -> game.getLeaderboard().mouseMoved(e); 
         }
     }
 
-    @Override
-    public void mouseClicked(MouseEvent e) {
+    public void dispatchMouseClicked(MouseEvent e) {
         switch (Gamestate.state) {
-            case PLAYING -> gamePanel.getGame().getPlaying().mouseClicked(e);
-            case REGISTER -> gamePanel.getGame().getRegister().mouseClicked(e); 
-            case LEADERBOARD -> gamePanel.getGame().getLeaderboard().mouseClicked(e); 
+            case PLAYING -> game.getPlaying().mouseClicked(e);
+            case REGISTER -> game.getRegister().mouseClicked(e); 
+            case LEADERBOARD -> game.getLeaderboard().mouseClicked(e); 
         }
     }
 
-    @Override
-    public void mousePressed(MouseEvent e) {
+    public void dispatchMousePressed(MouseEvent e) {
+        game.recordInput(Replay.MOUSE_PRESSED, Replay.PackMouse(e.getX(), e.getY()));
         switch (Gamestate.state) {
-            case MENU -> gamePanel.getGame().getMenu().mousePressed(e);
-            case PLAYING -> gamePanel.getGame().getPlaying().mousePressed(e);
-            case OPTIONS -> gamePanel.getGame().getGameOptions().mousePressed(e);
-            case REGISTER -> gamePanel.getGame().getRegister().mousePressed(e); 
-            case LEADERBOARD -> gamePanel.getGame().getLeaderboard().mousePressed(e);
+            case MENU -> game.getMenu().mousePressed(e);
+            case PLAYING -> game.getPlaying().mousePressed(e);
+            case OPTIONS -> game.getGameOptions().mousePressed(e);
+            case REGISTER -> game.getRegister().mousePressed(e); 
+            case LEADERBOARD -> game.getLeaderboard().mousePressed(e);
         }
     }
 
     @SuppressWarnings("incomplete-switch")
-    @Override
-    public void mouseReleased(MouseEvent e) {
+    public void dispatchMouseReleased(MouseEvent e) {
+        game.recordInput(Replay.MOUSE_RELEASED, Replay.PackMouse(e.getX(), e.getY()));
         switch (Gamestate.state) {
-            case MENU -> gamePanel.getGame().getMenu().mouseReleased(e);
-            case PLAYING -> gamePanel.getGame().getPlaying().mouseReleased(e);
-            case OPTIONS -> gamePanel.getGame().getGameOptions().mouseReleased(e);
-            case REGISTER -> gamePanel.getGame().getRegister().mouseReleased(e); 
-            case LEADERBOARD -> gamePanel.getGame().getLeaderboard().mouseReleased(e); 
+            case MENU -> game.getMenu().mouseReleased(e);
+            case PLAYING -> game.getPlaying().mouseReleased(e);
+            case OPTIONS -> game.getGameOptions().mouseReleased(e);
+            case REGISTER -> game.getRegister().mouseReleased(e); 
+            case LEADERBOARD -> game.getLeaderboard().mouseReleased(e); 
         }
     }
 
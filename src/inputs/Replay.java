@@ -0,0 +1,176 @@
+package inputs;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+// a recorded session: the seed it ran with and every input event applied to
+// the PLAYING state, indexed by the tick (counted from the session start) it
+// was applied before.
+//
+// file layout (big endian):
+//   int magic "JRPL", short version, long seed, int ups,
+//   byte completed, varint finalTicks, varint finalTimeMillis, varint eventCount,
+//   then per event: varint tick delta, byte kind, varint data
+public class Replay {
+
+	public static final int KEY_PRESSED = 0;
+	public static final int KEY_RELEASED = 1;
+	public static final int MOUSE_PRESSED = 2;
+	public static final int MOUSE_RELEASED = 3;
+	public static final int MOUSE_MOVED = 4;
+	public static final int MOUSE_DRAGGED = 5;
+
+	private static final int MAGIC = 0x4A52504C;
+	private static final short VERSION = 1;
+
+	private long seed;
+	private int ups;
+	private boolean completed;
+	private long finalTicks;
+	private long finalTimeMillis;
+
+	// one event per long: tick << 28 | kind << 24 | data (key code or x << 12 | y)
+	private long[] events = new long[256];
+	private int eventCount;
+
+	public Replay(long seed, int ups) {
+		this.seed = seed;
+		this.ups = ups;
+	}
+
+	public void add(long tick, int kind, int data) {
+		if (eventCount == events.length)
+			events = Arrays.copyOf(events, events.length * 2);
+		events[eventCount++] = (tick << 28) | ((long) kind << 24) | (data & 0xFFFFFF);
+	}
+
+	public static int PackMouse(int x, int y) {
+		return (Math.max(0, Math.min(x, 0xFFF)) << 12) | Math.max(0, Math.min(y, 0xFFF));
+	}
+
+	public static int MouseX(int data) {
+		return data >>> 12;
+	}
+
+	public static int MouseY(int data) {
+		return data & 0xFFF;
+	}
+
+	public void finish(boolean completed, long finalTicks, long finalTimeMillis) {
+		this.completed = completed;
+		this.finalTicks = finalTicks;
+		this.finalTimeMillis = finalTimeMillis;
+	}
+
+	public int getEventCount() {
+		return eventCount;
+	}
+
+	public long getTick(int i) {
+		return events[i] >>> 28;
+	}
+
+	public int getKind(int i) {
+		return (int) (events[i] >>> 24) & 0xF;
+	}
+
+	public int getData(int i) {
+		return (int) events[i] & 0xFFFFFF;
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	public int getUps() {
+		return ups;
+	}
+
+	public boolean isCompleted() {
+		return completed;
+	}
+
+	public long getFinalTicks() {
+		return finalTicks;
+	}
+
+	public long getFinalTimeMillis() {
+		return finalTimeMillis;
+	}
+
+	public void write(Path file) throws IOException {
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+			out.writeInt(MAGIC);
+			out.writeShort(VERSION);
+			out.writeLong(seed);
+			out.writeInt(ups);
+			out.writeByte(completed ? 1 : 0);
+			WriteVarLong(out, finalTicks);
+			WriteVarLong(out, finalTimeMillis);
+			WriteVarLong(out, eventCount);
+
+			long lastTick = 0;
+			for (int i = 0; i < eventCount; i++) {
+				WriteVarLong(out, getTick(i) - lastTick);
+				out.writeByte(getKind(i));
+				WriteVarLong(out, getData(i));
+				lastTick = getTick(i);
+			}
+		}
+	}
+
+	public static Replay Read(Path file) throws IOException {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			if (in.readInt() != MAGIC)
+				throw new IOException("Not a replay file: " + file);
+			short version = in.readShort();
+			if (version != VERSION)
+				throw new IOException("Unsupported replay version " + version + ": " + file);
+
+			Replay replay = new Replay(in.readLong(), in.readInt());
+			boolean completed = in.readByte() != 0;
+			long finalTicks = ReadVarLong(in);
+			long finalTimeMillis = ReadVarLong(in);
+			replay.finish(completed, finalTicks, finalTimeMillis);
+
+			long count = ReadVarLong(in);
+			long tick = 0;
+			for (long i = 0; i < count; i++) {
+				tick += ReadVarLong(in);
+				int kind = in.readUnsignedByte();
+				replay.add(tick, kind, (int) ReadVarLong(in));
+			}
+			return replay;
+		}
+	}
+
+	private static void WriteVarLong(OutputStream out, long value) throws IOException {
+		while ((value & ~0x7FL) != 0) {
+			out.write((int) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		out.write((int) value);
+	}
+
+	private static long ReadVarLong(InputStream in) throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			int b = in.read();
+			if (b < 0)
+				throw new EOFException();
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0)
+				return value;
+		}
+		throw new IOException("Malformed varint");
+	}
+}
@@ -0,0 +1,57 @@
+package inputs;
+
+import java.awt.Canvas;
+import java.awt.Component;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseEvent;
+
+import mainn.Game;
+
+// feeds a recorded session back into the game, tick for tick
+public class ReplayInput implements InputSource {
+
+	private static final Component EVENT_SOURCE = new Canvas();
+
+	private Replay replay;
+	private int next;
+	private KeyboardInputs keyboard;
+	private MouseInputs mouse;
+
+	public ReplayInput(Replay replay) {
+		this.replay = replay;
+	}
+
+	@Override
+	public void feed(long tick, Game game) {
+		if (keyboard == null) {
+			keyboard = new KeyboardInputs(game);
+			mouse = new MouseInputs(game);
+		}
+
+		while (next < replay.getEventCount() && replay.getTick(next) <= tick) {
+			dispatch(replay.getKind(next), replay.getData(next));
+			next++;
+		}
+	}
+
+	private void dispatch(int kind, int data) {
+		long when = System.currentTimeMillis();
+		switch (kind) {
+			case Replay.KEY_PRESSED -> keyboard.dispatchKeyPressed(new KeyEvent(EVENT_SOURCE, KeyEvent.KEY_PRESSED, when, 0, data, KeyEvent.CHAR_UNDEFINED));
+			case Replay.KEY_RELEASED -> keyboard.dispatchKeyReleased(new KeyEvent(EVENT_SOURCE, KeyEvent.KEY_RELEASED, when, 0, data, KeyEvent.CHAR_UNDEFINED));
+			case Replay.MOUSE_PRESSED -> mouse.dispatchMousePressed(mouseEvent(MouseEvent.MOUSE_PRESSED, when, data));
+			case Replay.MOUSE_RELEASED -> mouse.dispatchMouseReleased(mouseEvent(MouseEvent.MOUSE_RELEASED, when, data));
+			case Replay.MOUSE_MOVED -> mouse.dispatchMouseMoved(mouseEvent(MouseEvent.MOUSE_MOVED, when, data));
+			case Replay.MOUSE_DRAGGED -> mouse.dispatchMouseDragged(mouseEvent(MouseEvent.MOUSE_DRAGGED, when, data));
+		}
+	}
+
+	private MouseEvent mouseEvent(int id, long when, int data) {
+		return new MouseEvent(EVENT_SOURCE, id, when, 0, Replay.MouseX(data), Replay.MouseY(data), 1, false, MouseEvent.BUTTON1);
+	}
+
+	@Override
+	public boolean isFinished(long tick) {
+		return next >= replay.getEventCount();
+	}
+}
@@ -0,0 +1,92 @@
+package inputs;
+
+import java.awt.Canvas;
+import java.awt.Component;
+import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+import mainn.Game;
+
+// a fixed list of key presses and releases at given ticks, dispatched the same
+// way KeyboardInputs dispatches real key events.
+// script files hold one step per line: "<tick> press|release <KEY>", where KEY
+// is a KeyEvent.VK_ name without the prefix (e.g. "120 press SPACE").
+public class ScriptedInput implements InputSource {
+
+	private static final Component EVENT_SOURCE = new Canvas();
+
+	private ArrayList<long[]> steps = new ArrayList<>();
+	private int nextStep;
+	private KeyboardInputs keyboard;
+
+	public ScriptedInput press(long tick, int keyCode) {
+		return addStep(tick, keyCode, KeyEvent.KEY_PRESSED);
+	}
+
+	public ScriptedInput release(long tick, int keyCode) {
+		return addStep(tick, keyCode, KeyEvent.KEY_RELEASED);
+	}
+
+	private ScriptedInput addStep(long tick, int keyCode, int id) {
+		int i = steps.size();
+		while (i > 0 && steps.get(i - 1)[0] > tick)
+			i--;
+		steps.add(i, new long[] { tick, keyCode, id });
+		return this;
+	}
+
+	@Override
+	public void feed(long tick, Game game) {
+		while (nextStep < steps.size() && steps.get(nextStep)[0] <= tick) {
+			long[] step = steps.get(nextStep++);
+			dispatchKey(game, (int) step[2], (int) step[1]);
+		}
+	}
+
+	@Override
+	public boolean isFinished(long tick) {
+		return nextStep >= steps.size();
+	}
+
+	private void dispatchKey(Game game, int id, int keyCode) {
+		if (keyboard == null)
+			keyboard = new KeyboardInputs(game);
+		KeyEvent e = new KeyEvent(EVENT_SOURCE, id, System.currentTimeMillis(), 0, keyCode, KeyEvent.CHAR_UNDEFINED);
+		if (id == KeyEvent.KEY_PRESSED)
+			keyboard.dispatchKeyPressed(e);
+		else
+			keyboard.dispatchKeyReleased(e);
+	}
+
+	public static ScriptedInput Load(Path file) throws IOException {
+		ScriptedInput script = new ScriptedInput();
+		for (String line : Files.readAllLines(file)) {
+			line = line.trim();
+			if (line.isEmpty() || line.startsWith("#"))
+				continue;
+			String[] parts = line.split("\\s+");
+			if (parts.length != 3)
+				throw new IOException("Bad script line: " + line);
+			long tick = Long.parseLong(parts[0]);
+			int keyCode = GetKeyCode(parts[2]);
+			if (parts[1].equalsIgnoreCase("press"))
+				script.press(tick, keyCode);
+			else if (parts[1].equalsIgnoreCase("release"))
+				script.release(tick, keyCode);
+			else
+				throw new IOException("Bad script action: " + parts[1]);
+		}
+		return script;
+	}
+
+	private static int GetKeyCode(String name) throws IOException {
+		try {
+			return KeyEvent.class.getField("VK_" + name.toUpperCase()).getInt(null);
+		} catch (NoSuchFieldException | IllegalAccessException e) {
+			throw new IOException("Unknown key: " + name);
+		}
+	}
+}
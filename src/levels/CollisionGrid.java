@@ -0,0 +1,126 @@
+package levels;
+
+import mainn.Game;
+
+// solidity and water of every tile as bitsets, so a collision query is a
+// shift-and-mask instead of a switch over tile ids. each level chunk is one
+// 64-bit word per row and keeps its own words while it is live, see LevelChunk.
+// anything outside the level counts as solid, as it always has for movement.
+public class CollisionGrid {
+
+	static final int WATER_TOP = 48;
+
+	private final LevelChunk[] chunks;
+	private final int tilesWide, tilesHigh;
+	private final int pixelWidth, pixelHeight;
+
+	CollisionGrid(LevelChunk[] chunks, int tilesWide, int tilesHigh) {
+		this.chunks = chunks;
+		this.tilesWide = tilesWide;
+		this.tilesHigh = tilesHigh;
+		pixelWidth = tilesWide * Game.TILES_SIZE;
+		pixelHeight = tilesHigh * Game.TILES_SIZE;
+	}
+
+	// a grid over bare tile rows with every chunk's words built, for code
+	// that has tiles but no Level, such as the benchmarks
+	public static CollisionGrid FromTiles(int[][] tiles) {
+		int tilesWide = tiles[0].length;
+		LevelChunk[] chunks = new LevelChunk[(tilesWide + LevelChunk.TILES_WIDE - 1) / LevelChunk.TILES_WIDE];
+		int[] none = new int[0];
+		for (int c = 0; c < chunks.length; c++) {
+			chunks[c] = new LevelChunk(c, tiles, none, none, none);
+			chunks[c].buildCollision();
+		}
+		return new CollisionGrid(chunks, tilesWide, tiles.length);
+	}
+
+	// the only place tile ids are interpreted: air, water top and water bottom are not solid
+	public static boolean IsSolidId(int tileId) {
+		switch (tileId) {
+		case 11, 48, 49:
+			return false;
+		default:
+			return true;
+		}
+	}
+
+	// pixel position; outside the level is solid
+	public boolean isSolidAt(float x, float y) {
+		if (x < 0 || y < 0 || x >= pixelWidth || y >= pixelHeight)
+			return true;
+		return isSolidTile((int) x / Game.TILES_SIZE, (int) y / Game.TILES_SIZE);
+	}
+
+	// pixel position; outside the level is not water
+	public boolean isWaterAt(float x, float y) {
+		if (x < 0 || y < 0 || x >= pixelWidth || y >= pixelHeight)
+			return false;
+		int xTile = (int) x / Game.TILES_SIZE;
+		int yTile = (int) y / Game.TILES_SIZE;
+		return (chunks[xTile >>> 6].waterWord(yTile) >>> xTile & 1L) != 0;
+	}
+
+	// tile position, which must be inside the level
+	public boolean isSolidTile(int xTile, int yTile) {
+		return (chunks[xTile >>> 6].solidWord(yTile) >>> xTile & 1L) != 0;
+	}
+
+	// true if any tile in [xStart, xEnd) on row y is solid; rows or columns
+	// outside the level count as solid
+	public boolean anySolid(int xStart, int xEnd, int y) {
+		if (xStart >= xEnd)
+			return false;
+		if (y < 0 || y >= tilesHigh || xStart < 0 || xEnd > tilesWide)
+			return true;
+		int firstWord = xStart >>> 6;
+		int lastWord = (xEnd - 1) >>> 6;
+		long firstMask = -1L << xStart;
+		long lastMask = -1L >>> (63 - ((xEnd - 1) & 63));
+
+		if (firstWord == lastWord)
+			return (chunks[firstWord].solidWord(y) & firstMask & lastMask) != 0;
+		if ((chunks[firstWord].solidWord(y) & firstMask) != 0)
+			return true;
+		for (int w = firstWord + 1; w < lastWord; w++)
+			if (chunks[w].solidWord(y) != 0)
+				return true;
+		return (chunks[lastWord].solidWord(y) & lastMask) != 0;
+	}
+
+	// true if every tile in [xStart, xEnd) on row y is solid; rows or columns
+	// outside the level count as solid
+	public boolean allSolid(int xStart, int xEnd, int y) {
+		if (xStart >= xEnd)
+			return true;
+		if (y < 0 || y >= tilesHigh)
+			return true;
+		xStart = Math.max(xStart, 0);
+		xEnd = Math.min(xEnd, tilesWide);
+		if (xStart >= xEnd)
+			return true;
+		int firstWord = xStart >>> 6;
+		int lastWord = (xEnd - 1) >>> 6;
+		long firstMask = -1L << xStart;
+		long lastMask = -1L >>> (63 - ((xEnd - 1) & 63));
+
+		if (firstWord == lastWord) {
+			long mask = firstMask & lastMask;
+			return (chunks[firstWord].solidWord(y) & mask) == mask;
+		}
+		if ((chunks[firstWord].solidWord(y) & firstMask) != firstMask)
+			return false;
+		for (int w = firstWord + 1; w < lastWord; w++)
+			if (chunks[w].solidWord(y) != -1L)
+				return false;
+		return (chunks[lastWord].solidWord(y) & lastMask) == lastMask;
+	}
+
+	public int getTilesWide() {
+		return tilesWide;
+	}
+
+	public int getTilesHigh() {
+		return tilesHigh;
+	}
+}
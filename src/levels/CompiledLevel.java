@@ -0,0 +1,152 @@
+package levels;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+import utilz.LoadSave;
+
+// binary form of a level png, written at build time by LevelCompiler next to
+// the png as lvls/N.lvl. it carries the CRC32 of the png it was made from, and
+// is only used while that still matches; otherwise the png is decoded as before.
+//
+// layout, big-endian:
+//   int magic 'JLVL', int version, int png crc32
+//   int width, int height, int maxLvlOffsetX
+//   byte[width * height] tiles, row by row
+//   int count, count * (int value, int x, int y)   entity spawns
+//   int count, count * (int value, int x, int y)   object spawns
+//   int count, count * (int x, int y, int type)     grass
+public class CompiledLevel {
+
+	public static final String EXTENSION = ".lvl";
+	public static final int MAGIC = 0x4A4C564C;
+	public static final int VERSION = 1;
+	private static final int HEADER_BYTES = 6 * Integer.BYTES;
+
+	// compiled data for a level numbered from 1, or null if there is no up to
+	// date compiled file and the png has to be decoded instead
+	public static LevelData Load(int levelNum) {
+		String path = LoadSave.LEVEL_PATH_PREFIX + levelNum;
+		ByteBuffer compiled = ReadResource(path + EXTENSION);
+		if (compiled == null)
+			return null;
+		ByteBuffer png = ReadResource(path + ".png");
+		if (png == null)
+			return null;
+
+		if (!IsCurrent(compiled, Checksum(png))) {
+			System.err.println("Compiled level " + levelNum + " is out of date, loading the png instead");
+			return null;
+		}
+		try {
+			return Read(compiled);
+		} catch (BufferUnderflowException | IllegalArgumentException e) {
+			System.err.println("Compiled level " + levelNum + " is damaged, loading the png instead");
+			return null;
+		}
+	}
+
+	// memory-mapped when the resource is a plain file, read onto the heap when
+	// it is packed in a jar
+	static ByteBuffer ReadResource(String path) {
+		URL url = CompiledLevel.class.getResource(path);
+		if (url == null)
+			return null;
+		try {
+			if (url.getProtocol().equals("file"))
+				try (FileChannel ch = FileChannel.open(Path.of(url.toURI()), StandardOpenOption.READ)) {
+					return ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+				}
+			try (InputStream is = url.openStream()) {
+				return ByteBuffer.wrap(is.readAllBytes());
+			}
+		} catch (IOException | URISyntaxException e) {
+			e.printStackTrace();
+			System.err.println("Error reading resource: " + path);
+			return null;
+		}
+	}
+
+	public static int Checksum(ByteBuffer png) {
+		CRC32 crc = new CRC32();
+		crc.update(png.duplicate());
+		return (int) crc.getValue();
+	}
+
+	// true if the header is this format and version and was made from a png with this checksum
+	public static boolean IsCurrent(ByteBuffer compiled, int pngChecksum) {
+		if (compiled.remaining() < HEADER_BYTES)
+			return false;
+		ByteBuffer header = compiled.duplicate();
+		return header.getInt() == MAGIC && header.getInt() == VERSION && header.getInt() == pngChecksum;
+	}
+
+	public static LevelData Read(ByteBuffer compiled) {
+		ByteBuffer buf = compiled.duplicate();
+		buf.position(3 * Integer.BYTES);
+		int width = buf.getInt();
+		int height = buf.getInt();
+		int maxLvlOffsetX = buf.getInt();
+		if (width <= 0 || height <= 0)
+			throw new IllegalArgumentException("Bad level size " + width + "x" + height);
+
+		byte[] row = new byte[width];
+		int[][] tiles = new int[height][width];
+		for (int y = 0; y < height; y++) {
+			buf.get(row);
+			for (int x = 0; x < width; x++)
+				tiles[y][x] = row[x] & 0xFF;
+		}
+		int[] entities = ReadTable(buf);
+		int[] objects = ReadTable(buf);
+		int[] grass = ReadTable(buf);
+		return new LevelData(tiles, entities, objects, grass, maxLvlOffsetX);
+	}
+
+	private static int[] ReadTable(ByteBuffer buf) {
+		int count = buf.getInt();
+		if (count < 0 || count * 3L * Integer.BYTES > buf.remaining())
+			throw new IllegalArgumentException("Bad table size " + count);
+		int[] table = new int[count * 3];
+		buf.asIntBuffer().get(table);
+		buf.position(buf.position() + table.length * Integer.BYTES);
+		return table;
+	}
+
+	public static void Write(LevelData data, int pngChecksum, Path file) throws IOException {
+		int tiles = data.getWidth() * data.getHeight();
+		int tables = 3 * Integer.BYTES + (data.getEntities().length + data.getObjects().length + data.getGrass().length) * Integer.BYTES;
+		ByteBuffer buf = ByteBuffer.allocate(HEADER_BYTES + tiles + tables);
+
+		buf.putInt(MAGIC).putInt(VERSION).putInt(pngChecksum);
+		buf.putInt(data.getWidth()).putInt(data.getHeight()).putInt(data.getMaxLvlOffsetX());
+		for (int[] row : data.getTiles())
+			for (int tile : row)
+				buf.put((byte) tile);
+		WriteTable(buf, data.getEntities());
+		WriteTable(buf, data.getObjects());
+		WriteTable(buf, data.getGrass());
+		buf.flip();
+
+		Files.createDirectories(file.toAbsolutePath().getParent());
+		try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			while (buf.hasRemaining())
+				ch.write(buf);
+		}
+	}
+
+	private static void WriteTable(ByteBuffer buf, int[] table) {
+		buf.putInt(table.length / 3);
+		for (int value : table)
+			buf.putInt(value);
+	}
+}
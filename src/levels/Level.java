@@ -1,40 +1,26 @@
 package levels;
 
-import java.awt.Color;
 import java.awt.Point;
 import java.awt.image.BufferedImage;
-import java.util.ArrayList;
+import java.util.stream.IntStream;
 
-import entities.Crabby;
-import entities.Pinkstar;
-import entities.Shark;
+import entities.EnemyArchetype;
 import mainn.Game;
-import objects.BackgroundTree;
-import objects.Cannon;
-import objects.GameContainer;
-import objects.Grass;
-import objects.Potion;
-import objects.Spike;
-import objects.Star;
-
-import static utilz.Constants.EnemyConstants.*;
+
 import static utilz.Constants.ObjectConstants.*;
 
 public class Level {
 
-    private BufferedImage img;
-    private int[][] lvlData;
+    private static final int PLAYER_SPAWN = 100;
+    // chunks within this distance of the player are live; past it plus one
+    // chunk they are evicted, so walking along a chunk edge doesn't thrash
+    public static final float LIVE_DISTANCE = Game.GAME_WIDTH * 2;
 
-    private ArrayList<Crabby> crabs = new ArrayList<>();
-    private ArrayList<Pinkstar> pinkstars = new ArrayList<>();
-    private ArrayList<Shark> sharks = new ArrayList<>();
-    private ArrayList<Potion> potions = new ArrayList<>();
-    private ArrayList<Spike> spikes = new ArrayList<>();
-    private ArrayList<GameContainer> containers = new ArrayList<>();
-    private ArrayList<Cannon> cannons = new ArrayList<>();
-    private ArrayList<BackgroundTree> trees = new ArrayList<>();
-    private ArrayList<Grass> grass = new ArrayList<>();
-    private ArrayList<Star> stars = new ArrayList<>();
+    private LevelChunk[] chunks;
+    private CollisionGrid collisionGrid;
+    // live chunks are [firstLive, lastLive]; none before the first streamAround
+    private int firstLive = 0, lastLive = -1;
+    private int enemySpawnCount;
 
     private int lvlTilesWide;
     private int maxTilesOffset;
@@ -43,124 +29,140 @@ public class Level {
     private int levelIndex;
 
     public Level(BufferedImage img) {
-        this.img = img;
-        lvlData = new int[img.getHeight()][img.getWidth()];
-        loadLevel();
-        calcLvlOffsets();
-    }
-
-    private void loadLevel() {
-        for (int y = 0; y < img.getHeight(); y++)
-            for (int x = 0; x < img.getWidth(); x++) {
-                Color c = new Color(img.getRGB(x, y));
-                int red = c.getRed();
-                int green = c.getGreen();
-                int blue = c.getBlue();
-
-                loadLevelData(red, x, y);
-                loadEntities(green, x, y);
-                loadObjects(blue, x, y);
-            }
-    }
-
-    private void loadLevelData(int redValue, int x, int y) {
-        if (redValue >= 50)
-            lvlData[y][x] = 0;
-        else
-            lvlData[y][x] = redValue;
-        switch (redValue) {
-        case 0, 1, 2, 3, 30, 31, 33, 34, 35, 36, 37, 38, 39 ->
-        grass.add(new Grass((int) (x * Game.TILES_SIZE), (int) (y * Game.TILES_SIZE) - Game.TILES_SIZE, getRndGrassType(x)));
+        this(LevelData.FromImage(img));
+    }
+
+    public Level(LevelData data) {
+        lvlTilesWide = data.getWidth();
+        int chunkCount = (lvlTilesWide + LevelChunk.TILES_WIDE - 1) / LevelChunk.TILES_WIDE;
+        IntStream.Builder[] enemies = SplitByChunk(new int[0], 1, chunkCount);
+        int[] entities = data.getEntities();
+        for (int i = 0; i < entities.length; i += 3) {
+            int x = entities[i + 1], y = entities[i + 2];
+            if (entities[i] == PLAYER_SPAWN)
+                playerSpawn = new Point(x * Game.TILES_SIZE, y * Game.TILES_SIZE);
+            else
+                enemies[x / LevelChunk.TILES_WIDE].add(entities[i]).add(x).add(y);
+        }
+        IntStream.Builder[] objects = SplitByChunk(data.getObjects(), 1, chunkCount);
+        IntStream.Builder[] grass = SplitByChunk(data.getGrass(), 0, chunkCount);
+
+        chunks = new LevelChunk[chunkCount];
+        for (int c = 0; c < chunkCount; c++) {
+            chunks[c] = new LevelChunk(c, data.getTiles(), enemies[c].build().toArray(), objects[c].build().toArray(), grass[c].build().toArray());
+            enemySpawnCount += chunks[c].getEnemySpawnCount();
         }
+        maxTilesOffset = lvlTilesWide - Game.TILES_IN_WIDTH;
+        maxLvlOffsetX = data.getMaxLvlOffsetX();
+        collisionGrid = new CollisionGrid(chunks, lvlTilesWide, data.getHeight());
     }
 
-    private int getRndGrassType(int xPos) {
-        return xPos % 2;
+    // a table packed in triples, split by the chunk of the x tile found at
+    // xOffset in each triple
+    private static IntStream.Builder[] SplitByChunk(int[] table, int xOffset, int chunkCount) {
+        IntStream.Builder[] split = new IntStream.Builder[chunkCount];
+        for (int c = 0; c < chunkCount; c++)
+            split[c] = IntStream.builder();
+        for (int i = 0; i < table.length; i += 3)
+            split[table[i + xOffset] / LevelChunk.TILES_WIDE].add(table[i]).add(table[i + 1]).add(table[i + 2]);
+        return split;
     }
 
-    private void loadEntities(int greenValue, int x, int y) {
-        switch (greenValue) {
-        case CRABBY -> crabs.add(new Crabby(x * Game.TILES_SIZE, y * Game.TILES_SIZE));
-        case PINKSTAR -> pinkstars.add(new Pinkstar(x * Game.TILES_SIZE, y * Game.TILES_SIZE));
-        case SHARK -> sharks.add(new Shark(x * Game.TILES_SIZE, y * Game.TILES_SIZE));
-        case 100 -> playerSpawn = new Point(x * Game.TILES_SIZE, y * Game.TILES_SIZE);
-        }
+    // green values that spawn something: the player or an enemy
+    static boolean IsEntitySpawn(int greenValue) {
+        return greenValue == PLAYER_SPAWN || EnemyArchetype.IsEnemyType(greenValue);
     }
 
-    private void loadObjects(int blueValue, int x, int y) {
+    // blue values that place an object, see ObjectManager
+    static boolean IsObjectSpawn(int blueValue) {
         switch (blueValue) {
-        case RED_POTION, BLUE_POTION -> potions.add(new Potion(x * Game.TILES_SIZE, y * Game.TILES_SIZE, blueValue));
-        case BOX, BARREL -> containers.add(new GameContainer(x * Game.TILES_SIZE, y * Game.TILES_SIZE, blueValue));
-        case SPIKE -> spikes.add(new Spike(x * Game.TILES_SIZE, y * Game.TILES_SIZE, SPIKE));
-        case CANNON_LEFT, CANNON_RIGHT -> cannons.add(new Cannon(x * Game.TILES_SIZE, y * Game.TILES_SIZE, blueValue));
-        case TREE_ONE, TREE_TWO, TREE_THREE -> trees.add(new BackgroundTree(x * Game.TILES_SIZE, y * Game.TILES_SIZE, blueValue));
-        case STAR -> stars.add(new Star(x * Game.TILES_SIZE, y * Game.TILES_SIZE, blueValue));
+        case RED_POTION, BLUE_POTION, BOX, BARREL, SPIKE, CANNON_LEFT, CANNON_RIGHT, TREE_ONE, TREE_TWO, TREE_THREE, STAR:
+            return true;
+        default:
+            return false;
         }
     }
 
-    private void calcLvlOffsets() {
-        lvlTilesWide = img.getWidth();
-        maxTilesOffset = lvlTilesWide - Game.TILES_IN_WIDTH;
-        maxLvlOffsetX = Game.TILES_SIZE * maxTilesOffset;
+    // moves the live chunks along with the player at pixel x: chunks coming
+    // within LIVE_DISTANCE get their collision words, and chunks falling out
+    // of it (plus a chunk) lose them. the entity managers follow the same
+    // range, see getFirstLiveChunk
+    public void streamAround(float x) {
+        int wantFirst = chunkOf(x - LIVE_DISTANCE), wantLast = chunkOf(x + LIVE_DISTANCE);
+        int keepFirst = chunkOf(x - LIVE_DISTANCE - LevelChunk.WIDTH), keepLast = chunkOf(x + LIVE_DISTANCE + LevelChunk.WIDTH);
+        int first = wantFirst, last = wantLast;
+        if (firstLive <= lastLive) {
+            first = Math.max(keepFirst, Math.min(firstLive, wantFirst));
+            last = Math.min(keepLast, Math.max(lastLive, wantLast));
+        }
+        for (int c = firstLive; c <= lastLive; c++)
+            if (c < first || c > last)
+                chunks[c].dropCollision();
+        for (int c = first; c <= last; c++)
+            chunks[c].buildCollision();
+        firstLive = first;
+        lastLive = last;
     }
 
-    public int getSpriteIndex(int x, int y) {
-        return lvlData[y][x];
+    // the chunk holding pixel x, clamped to the level
+    public int chunkOf(float x) {
+        return Math.max(0, Math.min(chunks.length - 1, (int) Math.floor(x / LevelChunk.WIDTH)));
     }
 
-    public int[][] getLevelData() {
-        return lvlData;
-    }
-    
-    public int getLevelIndex() {
-        return levelIndex;
+    public boolean isLive(int chunk) {
+        return chunk >= firstLive && chunk <= lastLive;
     }
 
-    public int getLvlOffset() {
-        return maxLvlOffsetX;
+    public int getFirstLiveChunk() {
+        return firstLive;
     }
 
-    public Point getPlayerSpawn() {
-        return playerSpawn;
+    public int getLastLiveChunk() {
+        return lastLive;
     }
 
-    public ArrayList<Crabby> getCrabs() {
-        return crabs;
+    // every chunk's dormant enemies back to what the level spawns
+    public void resetDormantEnemies() {
+        for (LevelChunk chunk : chunks)
+            chunk.resetDormantEnemies();
     }
 
-    public ArrayList<Shark> getSharks() {
-        return sharks;
+    // every chunk's dormant objects back to what the level places
+    public void resetDormantObjects() {
+        for (LevelChunk chunk : chunks)
+            chunk.resetDormantObjects();
     }
 
-    public ArrayList<Potion> getPotions() {
-        return potions;
+    public int getEnemySpawnCount() {
+        return enemySpawnCount;
     }
 
-    public ArrayList<GameContainer> getContainers() {
-        return containers;
+    public LevelChunk getChunk(int c) {
+        return chunks[c];
     }
 
-    public ArrayList<Spike> getSpikes() {
-        return spikes;
+    public int getChunkCount() {
+        return chunks.length;
     }
 
-    public ArrayList<Cannon> getCannons() {
-        return cannons;
+    // tile position, which must be inside the level
+    public int getSpriteIndex(int x, int y) {
+        return chunks[x / LevelChunk.TILES_WIDE].getTile(x, y);
     }
 
-    public ArrayList<Pinkstar> getPinkstars() {
-        return pinkstars;
+    public CollisionGrid getCollisionGrid() {
+        return collisionGrid;
     }
-
-    public ArrayList<BackgroundTree> getTrees() {
-        return trees;
+    
+    public int getLevelIndex() {
+        return levelIndex;
     }
 
-    public ArrayList<Grass> getGrass() {
-        return grass;
+    public int getLvlOffset() {
+        return maxLvlOffsetX;
     }
 
-    public ArrayList<Star> getStars() {
-        return stars;
+    public Point getPlayerSpawn() {
+        return playerSpawn;
     }
 }
\ No newline at end of file
@@ -0,0 +1,201 @@
+package levels;
+
+import static utilz.Constants.EnemyConstants.GetMaxHealth;
+import static utilz.Constants.EnemyConstants.IDLE;
+
+import java.util.Arrays;
+
+import mainn.Game;
+
+// a fixed-width vertical slice of a level: its tiles, one byte each, and its
+// spawn tables. while the chunk is live (near the player, see Level.streamAround)
+// its collision words are built and its entities exist in the managers; when
+// it isn't, whatever is left of them waits here as compact dormant records.
+public class LevelChunk {
+
+	// 64 so a chunk row is exactly one collision word
+	public static final int TILES_WIDE = 64;
+	public static final int WIDTH = TILES_WIDE * Game.TILES_SIZE;
+
+	private final int index;
+	private final int firstTile, tilesWide, tilesHigh;
+	private final byte[] tiles;
+	// per row, bit i is tile firstTile + i; null while the chunk isn't live
+	private long[] solid, water;
+
+	// spawns as (value, x, y) in tiles, kept for resets; grass is (x, y, type)
+	private final int[] enemySpawns, objectSpawns, grass;
+
+	// dormant enemies as (type, x, y, state, health), hitbox position in pixels
+	private int dormantEnemyCount;
+	private int[] dormantEnemyType = new int[0], dormantEnemyState = new int[0], dormantEnemyHealth = new int[0];
+	private float[] dormantEnemyX = new float[0], dormantEnemyY = new float[0];
+	// dormant objects packed as (type, x, y), spawn position in pixels
+	private int[] dormantObjects = new int[0];
+	private int dormantObjectInts;
+
+	LevelChunk(int index, int[][] lvlData, int[] enemySpawns, int[] objectSpawns, int[] grass) {
+		this.index = index;
+		firstTile = index * TILES_WIDE;
+		tilesHigh = lvlData.length;
+		tilesWide = Math.min(TILES_WIDE, lvlData[0].length - firstTile);
+		tiles = new byte[tilesWide * tilesHigh];
+		for (int y = 0; y < tilesHigh; y++)
+			for (int x = 0; x < tilesWide; x++)
+				tiles[y * tilesWide + x] = (byte) lvlData[y][firstTile + x];
+		this.enemySpawns = enemySpawns;
+		this.objectSpawns = objectSpawns;
+		this.grass = grass;
+		resetDormantEnemies();
+		resetDormantObjects();
+	}
+
+	// tile position, which must be inside this chunk
+	public int getTile(int xTile, int yTile) {
+		return tiles[yTile * tilesWide + xTile - firstTile];
+	}
+
+	void buildCollision() {
+		if (solid != null)
+			return;
+		solid = new long[tilesHigh];
+		water = new long[tilesHigh];
+		for (int y = 0; y < tilesHigh; y++) {
+			solid[y] = computeSolidWord(y);
+			water[y] = computeWaterWord(y);
+		}
+	}
+
+	void dropCollision() {
+		solid = water = null;
+	}
+
+	// collision words are only kept while the chunk is live; queries that
+	// reach further out are worked out from the tiles
+	long solidWord(int yTile) {
+		return solid != null ? solid[yTile] : computeSolidWord(yTile);
+	}
+
+	long waterWord(int yTile) {
+		return water != null ? water[yTile] : computeWaterWord(yTile);
+	}
+
+	private long computeSolidWord(int yTile) {
+		long word = 0;
+		for (int x = 0; x < tilesWide; x++)
+			if (CollisionGrid.IsSolidId(tiles[yTile * tilesWide + x]))
+				word |= 1L << x;
+		return word;
+	}
+
+	private long computeWaterWord(int yTile) {
+		long word = 0;
+		for (int x = 0; x < tilesWide; x++)
+			if (tiles[yTile * tilesWide + x] == CollisionGrid.WATER_TOP)
+				word |= 1L << x;
+		return word;
+	}
+
+	public void addDormantEnemy(int type, float x, float y, int state, int health) {
+		if (dormantEnemyCount == dormantEnemyType.length) {
+			int capacity = Math.max(4, dormantEnemyCount * 2);
+			dormantEnemyType = Arrays.copyOf(dormantEnemyType, capacity);
+			dormantEnemyState = Arrays.copyOf(dormantEnemyState, capacity);
+			dormantEnemyHealth = Arrays.copyOf(dormantEnemyHealth, capacity);
+			dormantEnemyX = Arrays.copyOf(dormantEnemyX, capacity);
+			dormantEnemyY = Arrays.copyOf(dormantEnemyY, capacity);
+		}
+		dormantEnemyType[dormantEnemyCount] = type;
+		dormantEnemyX[dormantEnemyCount] = x;
+		dormantEnemyY[dormantEnemyCount] = y;
+		dormantEnemyState[dormantEnemyCount] = state;
+		dormantEnemyHealth[dormantEnemyCount] = health;
+		dormantEnemyCount++;
+	}
+
+	public int getDormantEnemyCount() {
+		return dormantEnemyCount;
+	}
+
+	public int getDormantEnemyType(int i) {
+		return dormantEnemyType[i];
+	}
+
+	public float getDormantEnemyX(int i) {
+		return dormantEnemyX[i];
+	}
+
+	public float getDormantEnemyY(int i) {
+		return dormantEnemyY[i];
+	}
+
+	public int getDormantEnemyState(int i) {
+		return dormantEnemyState[i];
+	}
+
+	public int getDormantEnemyHealth(int i) {
+		return dormantEnemyHealth[i];
+	}
+
+	public void clearDormantEnemies() {
+		dormantEnemyCount = 0;
+	}
+
+	// back to the enemies the level spawns here
+	void resetDormantEnemies() {
+		clearDormantEnemies();
+		for (int i = 0; i < enemySpawns.length; i += 3) {
+			int type = enemySpawns[i];
+			addDormantEnemy(type, enemySpawns[i + 1] * Game.TILES_SIZE, enemySpawns[i + 2] * Game.TILES_SIZE, IDLE, GetMaxHealth(type));
+		}
+	}
+
+	public void addDormantObject(int type, int x, int y) {
+		if (dormantObjectInts + 3 > dormantObjects.length)
+			dormantObjects = Arrays.copyOf(dormantObjects, Math.max(12, dormantObjects.length * 2));
+		dormantObjects[dormantObjectInts++] = type;
+		dormantObjects[dormantObjectInts++] = x;
+		dormantObjects[dormantObjectInts++] = y;
+	}
+
+	// packed as (type, x, y); only the first getDormantObjectInts() are used
+	public int[] getDormantObjects() {
+		return dormantObjects;
+	}
+
+	public int getDormantObjectInts() {
+		return dormantObjectInts;
+	}
+
+	public void clearDormantObjects() {
+		dormantObjectInts = 0;
+	}
+
+	// back to the objects the level places here
+	void resetDormantObjects() {
+		clearDormantObjects();
+		for (int i = 0; i < objectSpawns.length; i += 3)
+			addDormantObject(objectSpawns[i], objectSpawns[i + 1] * Game.TILES_SIZE, objectSpawns[i + 2] * Game.TILES_SIZE);
+	}
+
+	// (x, y, type) in tiles; grass has no state, so it is never dormant
+	public int[] getGrass() {
+		return grass;
+	}
+
+	public int getEnemySpawnCount() {
+		return enemySpawns.length / 3;
+	}
+
+	public int getIndex() {
+		return index;
+	}
+
+	public int getFirstTile() {
+		return firstTile;
+	}
+
+	public int getTilesWide() {
+		return tilesWide;
+	}
+}
@@ -0,0 +1,169 @@
+package levels;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+import mainn.Game;
+import utilz.LoadSave;
+
+// static tiles of a level pre-rendered into fixed-width, pre-scaled chunk images,
+// so a frame only blits the chunks under the camera. the animated water top
+// (tile 48) stays out of the chunks and is drawn per frame.
+// chunks are streamed: rendered when they come near the camera and evicted
+// least recently used past a fixed count, so memory doesn't grow with level
+// width. evicted images are reused for the next chunk rendered. these image
+// chunks are narrower than the level's data chunks (LevelChunk), so a screen
+// is a handful of small blits.
+public class LevelChunkCache {
+
+	public static final int CHUNK_TILES_WIDE = 8;
+	public static final int CHUNK_WIDTH = CHUNK_TILES_WIDE * Game.TILES_SIZE;
+	// chunks rendered ahead of the screen edge on either side
+	public static final int PREFETCH_CHUNKS = 1;
+	// every chunk a screen can touch, plus prefetch, plus one spare
+	public static final int MAX_RESIDENT_CHUNKS = Game.GAME_WIDTH / CHUNK_WIDTH + 2 + 2 * PREFETCH_CHUNKS + 1;
+
+	private static final int WATER_TOP = 48;
+	private static final int WATER_BOTTOM = 49;
+
+	private static class Chunk {
+		BufferedImage image;
+		// animated water tiles, packed as (x << 16) | y in tile coordinates
+		int[] waterTiles;
+	}
+
+	private Level level;
+	private BufferedImage[] levelSprite;
+	private BufferedImage waterBottom;
+	private int chunkCount;
+	private int chunksRendered;
+
+	private final ArrayDeque<BufferedImage> spareImages = new ArrayDeque<>();
+	// resident chunks by slot, with the chunk index and last use of each; few
+	// enough that a lookup is a scan
+	private final Chunk[] resident = new Chunk[MAX_RESIDENT_CHUNKS];
+	private final int[] residentIndex = new int[MAX_RESIDENT_CHUNKS];
+	private final long[] lastUsed = new long[MAX_RESIDENT_CHUNKS];
+	private int residentCount;
+	private long useClock;
+
+	// switches to a level; nothing is rendered until its chunks are drawn
+	public void setLevel(Level level, BufferedImage[] levelSprite, BufferedImage waterBottom) {
+		this.level = level;
+		this.levelSprite = levelSprite;
+		this.waterBottom = waterBottom;
+		int tilesWide = level.getCollisionGrid().getTilesWide();
+		chunkCount = (tilesWide + CHUNK_TILES_WIDE - 1) / CHUNK_TILES_WIDE;
+
+		for (int i = 0; i < residentCount; i++) {
+			spareImages.push(resident[i].image);
+			resident[i] = null;
+		}
+		residentCount = 0;
+	}
+
+	public boolean isBuiltFor(Level level) {
+		return this.level == level;
+	}
+
+	public void draw(Graphics g, int lvlOffset, BufferedImage waterFrame) {
+		int first = Math.max(0, lvlOffset / CHUNK_WIDTH);
+		int last = Math.min(chunkCount - 1, (lvlOffset + Game.GAME_WIDTH - 1) / CHUNK_WIDTH);
+
+		for (int c = first; c <= last; c++) {
+			Chunk chunk = getChunk(c);
+			g.drawImage(chunk.image, c * CHUNK_WIDTH - lvlOffset, 0, null);
+			for (int packed : chunk.waterTiles) {
+				int x = Game.TILES_SIZE * (packed >>> 16) - lvlOffset;
+				int y = Game.TILES_SIZE * (packed & 0xFFFF);
+				g.drawImage(waterFrame, x, y, null);
+			}
+		}
+
+		// touched after the visible ones so they are the first to go
+		for (int c = Math.max(0, first - PREFETCH_CHUNKS); c < first; c++)
+			getChunk(c);
+		for (int c = last + 1; c <= Math.min(chunkCount - 1, last + PREFETCH_CHUNKS); c++)
+			getChunk(c);
+	}
+
+	// the rendered chunk c, evicting the least recently used one when full
+	private Chunk getChunk(int c) {
+		int slot = 0;
+		for (int i = 0; i < residentCount; i++) {
+			if (residentIndex[i] == c) {
+				lastUsed[i] = ++useClock;
+				return resident[i];
+			}
+			if (lastUsed[i] < lastUsed[slot])
+				slot = i;
+		}
+		if (residentCount < MAX_RESIDENT_CHUNKS)
+			slot = residentCount++;
+		else
+			spareImages.push(resident[slot].image);
+
+		resident[slot] = render(c);
+		residentIndex[slot] = c;
+		lastUsed[slot] = ++useClock;
+		return resident[slot];
+	}
+
+	private Chunk render(int c) {
+		int tilesHigh = level.getCollisionGrid().getTilesHigh();
+		int firstTile = c * CHUNK_TILES_WIDE;
+		int lastTile = Math.min(firstTile + CHUNK_TILES_WIDE, level.getCollisionGrid().getTilesWide());
+
+		Chunk chunk = new Chunk();
+		chunk.image = takeImage((lastTile - firstTile) * Game.TILES_SIZE, tilesHigh * Game.TILES_SIZE);
+		Graphics2D g = chunk.image.createGraphics();
+		int[] water = new int[(lastTile - firstTile) * tilesHigh];
+		int waterCount = 0;
+
+		for (int j = 0; j < tilesHigh; j++)
+			for (int i = firstTile; i < lastTile; i++) {
+				int index = level.getSpriteIndex(i, j);
+				int x = (i - firstTile) * Game.TILES_SIZE;
+				int y = j * Game.TILES_SIZE;
+				if (index == WATER_TOP)
+					water[waterCount++] = (i << 16) | j;
+				else if (index == WATER_BOTTOM)
+					g.drawImage(waterBottom, x, y, null);
+				else
+					g.drawImage(levelSprite[index], x, y, null);
+			}
+		g.dispose();
+
+		chunk.waterTiles = Arrays.copyOf(water, waterCount);
+		chunksRendered++;
+		return chunk;
+	}
+
+	// a cleared image of this size, reusing an evicted one when it fits
+	private BufferedImage takeImage(int width, int height) {
+		BufferedImage img = spareImages.poll();
+		while (img != null && (img.getWidth() != width || img.getHeight() != height))
+			img = spareImages.poll();
+		if (img == null)
+			return LoadSave.CreateCompatibleImage(width, height);
+
+		Graphics2D g = img.createGraphics();
+		g.setComposite(AlphaComposite.Clear);
+		g.fillRect(0, 0, width, height);
+		g.dispose();
+		return img;
+	}
+
+	public int getResidentCount() {
+		return residentCount;
+	}
+
+	// chunks rendered since the game started, counting re-renders after eviction
+	public int getChunksRendered() {
+		return chunksRendered;
+	}
+}
@@ -0,0 +1,45 @@
+package levels;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import javax.imageio.ImageIO;
+
+// build step: turns every lvls/N.png in a folder into a CompiledLevel N.lvl in
+// the output folder, skipping levels whose compiled file is already current.
+// usage: LevelCompiler <png folder> <output folder>
+public class LevelCompiler {
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2) {
+			System.err.println("Usage: LevelCompiler <png folder> <output folder>");
+			System.exit(1);
+		}
+		System.setProperty("java.awt.headless", "true");
+		Path source = Path.of(args[0]);
+		Path output = Path.of(args[1]);
+
+		int compiled = 0, current = 0;
+		for (int levelNum = 1; Files.exists(source.resolve(levelNum + ".png")); levelNum++) {
+			byte[] png = Files.readAllBytes(source.resolve(levelNum + ".png"));
+			int checksum = CompiledLevel.Checksum(ByteBuffer.wrap(png));
+			Path target = output.resolve(levelNum + CompiledLevel.EXTENSION);
+
+			if (Files.exists(target) && CompiledLevel.IsCurrent(ByteBuffer.wrap(Files.readAllBytes(target)), checksum)) {
+				current++;
+				continue;
+			}
+
+			BufferedImage img = ImageIO.read(new ByteArrayInputStream(png));
+			if (img == null)
+				throw new IOException("Could not decode " + source.resolve(levelNum + ".png"));
+			CompiledLevel.Write(LevelData.FromImage(img), checksum, target);
+			compiled++;
+		}
+		System.out.println("Compiled " + compiled + " level(s), " + current + " already up to date");
+	}
+}
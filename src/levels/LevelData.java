@@ -0,0 +1,98 @@
+package levels;
+
+import java.awt.image.BufferedImage;
+import java.util.stream.IntStream;
+
+import mainn.Game;
+
+// everything a Level is built from, before any entity or object exists: the
+// tile grid plus spawn tables, each spawn packed as (value, x, y) in tiles.
+// it comes either from a level png, whose red, green and blue channels hold
+// tiles, entities and objects, or from a compiled level file.
+public class LevelData {
+
+	private final int width, height;
+	private final int[][] tiles;
+	private final int[] entities;
+	private final int[] objects;
+	// grass packed as (x, y, type) in tiles
+	private final int[] grass;
+	private final int maxLvlOffsetX;
+
+	LevelData(int[][] tiles, int[] entities, int[] objects, int[] grass, int maxLvlOffsetX) {
+		this.tiles = tiles;
+		this.height = tiles.length;
+		this.width = tiles[0].length;
+		this.entities = entities;
+		this.objects = objects;
+		this.grass = grass;
+		this.maxLvlOffsetX = maxLvlOffsetX;
+	}
+
+	public static LevelData FromImage(BufferedImage img) {
+		int width = img.getWidth();
+		int height = img.getHeight();
+		int[][] tiles = new int[height][width];
+		IntStream.Builder entities = IntStream.builder();
+		IntStream.Builder objects = IntStream.builder();
+		IntStream.Builder grass = IntStream.builder();
+
+		// one bulk read of the whole image as packed ARGB
+		int[] pixels = img.getRGB(0, 0, width, height, null, 0, width);
+		for (int y = 0; y < height; y++)
+			for (int x = 0; x < width; x++) {
+				int rgb = pixels[y * width + x];
+				int red = (rgb >> 16) & 0xFF;
+				int green = (rgb >> 8) & 0xFF;
+				int blue = rgb & 0xFF;
+
+				tiles[y][x] = red >= 50 ? 0 : red;
+				if (HasGrass(red))
+					grass.add(x).add(y).add(x % 2);
+				if (Level.IsEntitySpawn(green))
+					entities.add(green).add(x).add(y);
+				if (Level.IsObjectSpawn(blue))
+					objects.add(blue).add(x).add(y);
+			}
+
+		int maxLvlOffsetX = Game.TILES_SIZE * (width - Game.TILES_IN_WIDTH);
+		return new LevelData(tiles, entities.build().toArray(), objects.build().toArray(), grass.build().toArray(), maxLvlOffsetX);
+	}
+
+	private static boolean HasGrass(int redValue) {
+		switch (redValue) {
+		case 0, 1, 2, 3, 30, 31, 33, 34, 35, 36, 37, 38, 39:
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+
+	public int[][] getTiles() {
+		return tiles;
+	}
+
+	public int[] getEntities() {
+		return entities;
+	}
+
+	public int[] getObjects() {
+		return objects;
+	}
+
+	public int[] getGrass() {
+		return grass;
+	}
+
+	public int getMaxLvlOffsetX() {
+		return maxLvlOffsetX;
+	}
+}
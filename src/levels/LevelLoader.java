@@ -0,0 +1,86 @@
+package levels;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import utilz.LoadSave;
+
+// loads every level on a small thread pool as soon as it is created. asking
+// for a level blocks only until that one is ready, so startup waits for the
+// first level while the rest finish in the background. a level that can't be
+// read is left out and the ones after it move up, as they always were.
+public class LevelLoader {
+
+	private final List<CompletableFuture<Level>> levels;
+	private volatile long firstLevelNanos = -1;
+
+	public LevelLoader() {
+		long start = System.nanoTime();
+		int count = LoadSave.GetLevelCount();
+		levels = new ArrayList<>(count);
+
+		AtomicInteger threadNum = new AtomicInteger();
+		int threads = Math.max(1, Math.min(count, Runtime.getRuntime().availableProcessors()));
+		ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+			Thread t = new Thread(r, "level-loader-" + threadNum.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		});
+
+		// submitted in level order, so the first level is picked up first
+		for (int i = 0; i < count; i++) {
+			int levelNum = i + 1;
+			levels.add(CompletableFuture.supplyAsync(() -> parse(levelNum), pool));
+		}
+		// lets the workers exit once the queue is drained
+		pool.shutdown();
+
+		if (count > 0)
+			levels.get(0).thenRun(() -> firstLevelNanos = System.nanoTime() - start);
+	}
+
+	// the compiled level file when it is current, otherwise the png; null if
+	// neither can be read
+	private static Level parse(int levelNum) {
+		LevelData compiled = CompiledLevel.Load(levelNum);
+		if (compiled != null)
+			return new Level(compiled);
+		BufferedImage img = LoadSave.GetLevelImage(levelNum);
+		if (img == null) {
+			System.err.println("Skipping level " + levelNum + ", it could not be loaded");
+			return null;
+		}
+		return new Level(img);
+	}
+
+	// level by index from 0 among the readable ones, waiting for it and the
+	// levels before it if they are still being parsed
+	public Level get(int index) {
+		int readable = 0;
+		for (CompletableFuture<Level> level : levels) {
+			Level lvl = level.join();
+			if (lvl != null && readable++ == index)
+				return lvl;
+		}
+		throw new IndexOutOfBoundsException("No level " + index + " (found " + readable + ")");
+	}
+
+	// readable levels; waits for all of them to be parsed
+	public int getCount() {
+		int count = 0;
+		for (CompletableFuture<Level> level : levels)
+			if (level.join() != null)
+				count++;
+		return count;
+	}
+
+	// time from construction until the first level was parsed, or -1 if it isn't yet
+	public long getFirstLevelMillis() {
+		return firstLevelNanos < 0 ? -1 : firstLevelNanos / 1_000_000;
+	}
+}
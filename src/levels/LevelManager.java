@@ -2,76 +2,71 @@ package levels;
 
 import java.awt.Graphics;
 import java.awt.image.BufferedImage;
-import java.util.ArrayList;
 
 import mainn.Game;
 import utilz.LoadSave;
+import utilz.SpriteCache;
 
 public class LevelManager {
 
 	private Game game;
 	private BufferedImage[] levelSprite;
 	private BufferedImage[] waterSprite;
-	private ArrayList<Level> levels;
+	private LevelLoader levels;
+	private LevelChunkCache chunkCache = new LevelChunkCache();
 	private int lvlIndex = 0, aniTick, aniIndex;
 
 	public LevelManager(Game game) {
 		this.game = game;
 		importOutsideSprites();
 		createWater();
-		levels = new ArrayList<>();
-		buildAllLevels();
+		levels = new LevelLoader();
+		resetChunkCache();
 	}
 
 	private void createWater() {
+		// tile sized, so the animated water is an unscaled blit
 		waterSprite = new BufferedImage[5];
-		BufferedImage img = LoadSave.GetSpriteAtlas(LoadSave.WATER_TOP);
-		for (int i = 0; i < 4; i++)
-			waterSprite[i] = img.getSubimage(i * 32, 0, 32, 32);
-		waterSprite[4] = LoadSave.GetSpriteAtlas(LoadSave.WATER_BOTTOM);
+		System.arraycopy(SpriteCache.GetFrames(LoadSave.WATER_TOP, 4, 1, 32, 32, Game.TILES_SIZE, Game.TILES_SIZE)[0], 0, waterSprite, 0, 4);
+		waterSprite[4] = SpriteCache.GetImage(LoadSave.WATER_BOTTOM, Game.TILES_SIZE, Game.TILES_SIZE);
 	}
 
 	public void loadNextLevel() {
 		Level newLevel = levels.get(lvlIndex);
 		game.getPlaying().getEnemyManager().loadEnemies(newLevel);
-		game.getPlaying().getPlayer().loadLvlData(newLevel.getLevelData());
+		game.getPlaying().getPlayer().loadLvlData(newLevel.getCollisionGrid());
 		game.getPlaying().setMaxLvlOffset(newLevel.getLvlOffset());
 		game.getPlaying().getObjectManager().loadObjects(newLevel);
+		resetChunkCache();
 	}
 
-	private void buildAllLevels() {
-		BufferedImage[] allLevels = LoadSave.GetAllLevels();
-		for (BufferedImage img : allLevels)
-			levels.add(new Level(img));
+	private void resetChunkCache() {
+		chunkCache.setLevel(getCurrentLevel(), levelSprite, waterSprite[4]);
 	}
 
 	private void importOutsideSprites() {
-		BufferedImage img = LoadSave.GetSpriteAtlas(LoadSave.LEVEL_ATLAS);
+		BufferedImage[][] tiles = SpriteCache.GetFrames(LoadSave.LEVEL_ATLAS, 12, 4, 32, 32, Game.TILES_SIZE, Game.TILES_SIZE);
 		levelSprite = new BufferedImage[48];
 		for (int j = 0; j < 4; j++)
-			for (int i = 0; i < 12; i++) {
-				int index = j * 12 + i;
-				levelSprite[index] = img.getSubimage(i * 32, j * 32, 32, 32);
-			}
+			for (int i = 0; i < 12; i++)
+				levelSprite[j * 12 + i] = tiles[j][i];
 	}
 
 	public void draw(Graphics g, int lvlOffset) {
-		for (int j = 0; j < Game.TILES_IN_HEIGHT; j++)
-			for (int i = 0; i < levels.get(lvlIndex).getLevelData()[0].length; i++) {
-				int index = levels.get(lvlIndex).getSpriteIndex(i, j);
-				int x = Game.TILES_SIZE * i - lvlOffset;
-				int y = Game.TILES_SIZE * j;
-				if (index == 48)
-					g.drawImage(waterSprite[aniIndex], x, y, Game.TILES_SIZE, Game.TILES_SIZE, null);
-				else if (index == 49)
-					g.drawImage(waterSprite[4], x, y, Game.TILES_SIZE, Game.TILES_SIZE, null);
-				else
-					g.drawImage(levelSprite[index], x, y, Game.TILES_SIZE, Game.TILES_SIZE, null);
-			}
+		if (!chunkCache.isBuiltFor(getCurrentLevel()))
+			resetChunkCache();
+		chunkCache.draw(g, lvlOffset, waterSprite[aniIndex]);
 	}
 
 	public void update() {
 		updateWaterAnimation();
+		streamAroundPlayer();
+	}
+
+	// keeps the chunks around the player live; the entity managers follow
+	// on their next update
+	public void streamAroundPlayer() {
+		getCurrentLevel().streamAround(game.getPlaying().getPlayer().getHitbox().x);
 	}
 
 	private void updateWaterAnimation() {
@@ -90,7 +85,15 @@ public class LevelManager {
 	}
 
 	public int getAmountOfLevels() {
-		return levels.size();
+		return levels.getCount();
+	}
+
+	public LevelChunkCache getChunkCache() {
+		return chunkCache;
+	}
+
+	public LevelLoader getLevelLoader() {
+		return levels;
 	}
 
 	public int getLevelIndex() {
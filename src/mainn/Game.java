@@ -1,20 +1,49 @@
 package mainn;
 
 import java.awt.Graphics;
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseEvent;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
 
 import audio.AudioPlayer;
 import gamestates.*;
+import inputs.InputQueue;
+import inputs.InputRecorder;
+import inputs.InputSource;
+import inputs.KeyboardInputs;
+import inputs.MouseInputs;
 import gamestates.Register;
 import ui.AudioOptions;
+import utilz.InputLatency;
+import utilz.LeaderboardStore;
+import utilz.Metrics;
 import gamestates.Leaderboard;
 import gamestates.Playing;
 
-public class Game implements Runnable {
+public class Game {
 
-    private GamePanel gamePanel;
+    private GameSurface gameSurface;
+    private RenderMode renderMode;
     private Thread gameThread;
-    private final int FPS_SET = 120;
-    private final int UPS_SET = 200;
+    private GameLoop gameLoop;
+    private boolean headless;
+    private long tick;
+    private long sessionStartTick;
+    private InputSource inputSource;
+    private volatile InputSource pendingSession;
+    private InputRecorder inputRecorder;
+    private InputQueue inputQueue = new InputQueue();
+    private KeyboardInputs keyboardInputs = new KeyboardInputs(this);
+    private MouseInputs mouseInputs = new MouseInputs(this);
+    private InputLatency inputLatency = new InputLatency();
+    private Metrics metrics = new Metrics();
+    private long constructionStart;
+    private boolean startupReported;
+    public final static int FPS_SET = 120;
+    public final static int UPS_SET = 200;
 
     private Playing playing;
     private Menu menu;
@@ -23,6 +52,7 @@ public class Game implements Runnable {
     private AudioOptions audioOptions;
     private AudioPlayer audioPlayer;
     private Leaderboard leaderboard;
+    private LeaderboardStore leaderboardStore;
 
     public final static int TILES_DEFAULT_SIZE = 32;
     public final static float SCALE = 2f;
@@ -35,36 +65,91 @@ public class Game implements Runnable {
     private final boolean SHOW_FPS_UPS = true;
 
     public Game() {
-        System.out.println("size: " + GAME_WIDTH + " : " + GAME_HEIGHT);
+        this(false);
+    }
+
+    // a headless game builds every state but no window, audio or game loop;
+    // the caller advances it by calling update() itself
+    public Game(boolean headless) {
+        this.headless = headless;
+        constructionStart = System.nanoTime();
+        if (!headless)
+            System.out.println("size: " + GAME_WIDTH + " : " + GAME_HEIGHT);
+        if (!headless)
+            renderMode = RenderMode.fromProperty(System.getProperty("jump.render"));
         initClasses();
-        gamePanel = new GamePanel(this);
-        new GameWindow(gamePanel);
-        gamePanel.requestFocusInWindow();
+        if (headless)
+            return;
+        metrics.installGcListener();
+
+        String recordFolder = System.getProperty("jump.record");
+        if (recordFolder != null) {
+            inputRecorder = new InputRecorder(Path.of(recordFolder));
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> endRecording(false)));
+        }
+
+        String latencyFile = System.getProperty("jump.latency");
+        if (latencyFile != null)
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> writeLatencyReport(Path.of(latencyFile))));
+
+        switch (renderMode) {
+            case ACTIVE -> gameSurface = new GameCanvas(this);
+            case VOLATILE -> gameSurface = new VolatileCanvas(this);
+            default -> gameSurface = new GamePanel(this);
+        }
+        new GameWindow(this, gameSurface.getComponent());
+        gameSurface.getComponent().requestFocusInWindow();
         startGameLoop();
     }
 
     private void initClasses() {
         audioOptions = new AudioOptions(this);
-        audioPlayer = new AudioPlayer();
+        audioPlayer = new AudioPlayer(headless);
         menu = new Menu(this);
         playing = new Playing(this);
+        leaderboardStore = new LeaderboardStore();
         leaderboard = new Leaderboard(this);
         gameOptions = new GameOptions(this);
         register = new Register(this);
     }
 
     private void startGameLoop() {
-        gameThread = new Thread(this);
+        int fps = Integer.getInteger("jump.fps", FPS_SET);
+        int ups = Integer.getInteger("jump.ups", UPS_SET);
+        gameLoop = new GameLoop(this, gameSurface, fps, ups, SHOW_FPS_UPS);
+        gameThread = new Thread(gameLoop, "game-loop");
         gameThread.start();
     }
+
+    public void setTargetFps(int fps) {
+        gameLoop.setTargetFps(fps);
+    }
+
+    public void setTargetUps(int ups) {
+        gameLoop.setTargetUps(ups);
+    }
     
     public void StartNewGame() {
+        sessionStartTick = tick;
+        if (inputRecorder != null)
+            inputRecorder.begin(tick, UPS_SET);
         playing.startNewGameSession();
         Gamestate.state = Gamestate.PLAYING; 
         getAudioPlayer().playSong(AudioPlayer.LEVEL_1);
     }
     
     public void update() {
+        long start = System.nanoTime();
+        drainInput();
+        InputSource session = pendingSession;
+        if (session != null) {
+            pendingSession = null;
+            inputSource = session;
+            StartNewGame();
+        }
+        if (inputSource != null)
+            inputSource.feed(tick - sessionStartTick, this);
+        tick++;
         switch (Gamestate.state) {
             case MENU -> menu.update();
             case PLAYING -> playing.update();
@@ -73,9 +158,12 @@ public class Game implements Runnable {
             case LEADERBOARD -> leaderboard.update();
             case QUIT -> System.exit(0);
         }
+        metrics.record(Metrics.UPDATE, System.nanoTime() - start);
+        metrics.rollWindow();
     }
 
     public void render(Graphics g) {
+        long start = System.nanoTime();
         switch (Gamestate.state) {
             case MENU -> menu.draw(g);
             case PLAYING -> playing.draw(g);
@@ -83,54 +171,116 @@ public class Game implements Runnable {
             case REGISTER -> register.draw(g);
             case LEADERBOARD -> leaderboard.draw(g);
         }
+        metrics.record(Metrics.RENDER, System.nanoTime() - start);
+        if (!startupReported)
+            reportStartup();
+    }
+
+    // the first rendered frame is the first moment the menu takes input
+    private void reportStartup() {
+        startupReported = true;
+        long sinceConstruction = (System.nanoTime() - constructionStart) / 1_000_000;
+        long sinceJvmStart = ManagementFactory.getRuntimeMXBean().getUptime();
+        long firstLevel = playing.getLevelManager().getLevelLoader().getFirstLevelMillis();
+        System.out.println("Startup: menu interactive " + sinceJvmStart + " ms after JVM start, " + sinceConstruction + " ms after Game was created (first level parsed in " + firstLevel + " ms)");
+    }
+
+    // applies the input queued by the listeners since the last tick
+    private void drainInput() {
+        while (inputQueue.poll()) {
+            InputEvent e = inputQueue.getEvent();
+            int kind = inputQueue.getKind();
+            if (kind == InputQueue.KEY_PRESSED || kind == InputQueue.MOUSE_PRESSED)
+                inputLatency.consumed(inputQueue.getStamp());
+            switch (kind) {
+                case InputQueue.KEY_PRESSED -> keyboardInputs.dispatchKeyPressed((KeyEvent) e);
+                case InputQueue.KEY_RELEASED -> keyboardInputs.dispatchKeyReleased((KeyEvent) e);
+                case InputQueue.KEY_TYPED -> keyboardInputs.dispatchKeyTyped((KeyEvent) e);
+                case InputQueue.MOUSE_PRESSED -> mouseInputs.dispatchMousePressed((MouseEvent) e);
+                case InputQueue.MOUSE_RELEASED -> mouseInputs.dispatchMouseReleased((MouseEvent) e);
+                case InputQueue.MOUSE_CLICKED -> mouseInputs.dispatchMouseClicked((MouseEvent) e);
+                case InputQueue.MOUSE_MOVED -> mouseInputs.dispatchMouseMoved((MouseEvent) e);
+                case InputQueue.MOUSE_DRAGGED -> mouseInputs.dispatchMouseDragged((MouseEvent) e);
+                case InputQueue.FOCUS_LOST -> {
+                    if (Gamestate.state == Gamestate.PLAYING)
+                        playing.getPlayer().resetDirBooleans();
+                }
+            }
+        }
+    }
+
+    private void writeLatencyReport(Path file) {
+        try {
+            inputLatency.writeReport(file);
+            System.out.println("Input latency saved: " + file);
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.err.println("Failed to save input latency in: " + file);
+        }
+    }
+
+    // called on the EDT; handled with the rest of the input on the next tick
+    public void windowFocusLost() {
+        inputQueue.push(InputQueue.FOCUS_LOST, null);
     }
 
-    @Override
-    public void run() {
-        double timePerFrame = 1000000000.0 / FPS_SET;
-        double timePerUpdate = 1000000000.0 / UPS_SET;
+    // input events that reach the PLAYING state are recorded when -Djump.record is set
+    public void recordInput(int kind, int data) {
+        if (inputRecorder != null && Gamestate.state == Gamestate.PLAYING)
+            inputRecorder.record(tick, kind, data);
+    }
 
-        long previousTime = System.nanoTime();
+    public void endRecording(boolean completed) {
+        if (inputRecorder != null)
+            inputRecorder.end(tick, completed, playing.getTotalGameTimeMillis());
+    }
 
-        int frames = 0;
-        int updates = 0;
-        long lastCheck = System.currentTimeMillis();
+    // input fed before every tick, counted from the start of the current session
+    public void setInputSource(InputSource inputSource) {
+        this.inputSource = inputSource;
+    }
 
-        double deltaU = 0;
-        double deltaF = 0;
+    // starts a new session driven by the given input on the next tick, from any thread
+    public void startSession(InputSource input) {
+        pendingSession = input;
+    }
 
-        while (true) {
-            long currentTime = System.nanoTime();
+    public InputQueue getInputQueue() {
+        return inputQueue;
+    }
 
-            deltaU += (currentTime - previousTime) / timePerUpdate;
-            deltaF += (currentTime - previousTime) / timePerFrame;
-            previousTime = currentTime;
+    public KeyboardInputs getKeyboardInputs() {
+        return keyboardInputs;
+    }
 
-            if (deltaU >= 1) {
-                update();
-                updates++;
-                deltaU--;
-            }
+    public MouseInputs getMouseInputs() {
+        return mouseInputs;
+    }
 
-            if (deltaF >= 1) {
-                gamePanel.repaint();
-                frames++;
-                deltaF--;
-            }
+    public InputLatency getInputLatency() {
+        return inputLatency;
+    }
 
-            if (SHOW_FPS_UPS)
-                if (System.currentTimeMillis() - lastCheck >= 1000) {
-                    lastCheck = System.currentTimeMillis();
-                    System.out.println("FPS: " + frames + " | UPS: " + updates);
-                    frames = 0;
-                    updates = 0;
-                }
-        }
+    public boolean isHeadless() {
+        return headless;
     }
 
-    public void windowFocusLost() {
-        if (Gamestate.state == Gamestate.PLAYING)
-            playing.getPlayer().resetDirBooleans();
+    // number of updates run so far
+    public long getTick() {
+        return tick;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    public RenderMode getRenderMode() {
+        return renderMode;
+    }
+
+    // null when headless
+    public GameSurface getGameSurface() {
+        return gameSurface;
     }
 
     public Menu getMenu() {
@@ -145,6 +295,10 @@ public class Game implements Runnable {
         return leaderboard;
     }
 
+    public LeaderboardStore getLeaderboardStore() {
+        return leaderboardStore;
+    }
+
     public GameOptions getGameOptions() {
         return gameOptions;
     }
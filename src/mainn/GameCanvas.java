@@ -0,0 +1,76 @@
+package mainn;
+
+import java.awt.Canvas;
+import java.awt.Component;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static mainn.Game.*;
+
+public class GameCanvas extends Canvas implements GameSurface {
+
+	private Game game;
+	private BufferStrategy bufferStrategy;
+	private AtomicInteger presentedFrames = new AtomicInteger();
+	private long renderedFrames;
+
+	public GameCanvas(Game game) {
+		this.game = game;
+		setPreferredSize(new Dimension(GAME_WIDTH, GAME_HEIGHT));
+		setIgnoreRepaint(true);
+
+		addKeyListener(game.getKeyboardInputs());
+		addMouseListener(game.getMouseInputs());
+		addMouseMotionListener(game.getMouseInputs());
+
+		setFocusable(true);
+	}
+
+	@Override
+	public Component getComponent() {
+		return this;
+	}
+
+	@Override
+	public void renderFrame() {
+		if (bufferStrategy == null) {
+			// the strategy can only be created once the canvas is displayable
+			if (!isDisplayable())
+				return;
+			createBufferStrategy(2);
+			bufferStrategy = getBufferStrategy();
+		}
+
+		long frame = ++renderedFrames;
+		do {
+			do {
+				Graphics g = bufferStrategy.getDrawGraphics();
+				try {
+					g.clearRect(0, 0, GAME_WIDTH, GAME_HEIGHT);
+					game.render(g);
+				} finally {
+					g.dispose();
+				}
+			} while (bufferStrategy.contentsRestored());
+			game.getInputLatency().rendered(frame);
+
+			bufferStrategy.show();
+		} while (bufferStrategy.contentsLost());
+
+		Toolkit.getDefaultToolkit().sync();
+		presentedFrames.incrementAndGet();
+		game.getInputLatency().presented(frame);
+	}
+
+	@Override
+	public int pollPresentedFrames() {
+		return presentedFrames.getAndSet(0);
+	}
+
+	public Game getGame() {
+		return game;
+	}
+}
@@ -0,0 +1,107 @@
+package mainn;
+
+import java.util.concurrent.locks.LockSupport;
+
+// fixed-timestep loop. updates run off an accumulator at UPS and catch up after
+// a stall (bounded, so a long hitch can't spiral), frames are paced at FPS, and
+// between deadlines the thread parks instead of spinning on System.nanoTime().
+public class GameLoop implements Runnable {
+
+	private static final int MAX_CATCH_UP_STEPS = 10;
+	// park until this close to a deadline, then spin the remainder for accuracy
+	private static final long SPIN_NANOS = 50_000;
+
+	private final Game game;
+	private final GameSurface surface;
+	private final boolean showFpsUps;
+
+	private volatile long nanosPerUpdate;
+	private volatile long nanosPerFrame;
+	private volatile boolean running = true;
+
+	public GameLoop(Game game, GameSurface surface, int fps, int ups, boolean showFpsUps) {
+		this.game = game;
+		this.surface = surface;
+		this.showFpsUps = showFpsUps;
+		setTargetFps(fps);
+		setTargetUps(ups);
+	}
+
+	@Override
+	public void run() {
+		long previousTime = System.nanoTime();
+		long nextFrameTime = previousTime;
+		long accumulator = 0;
+
+		int frames = 0;
+		int updates = 0;
+		long lastCheck = previousTime;
+
+		while (running) {
+			long currentTime = System.nanoTime();
+			accumulator += currentTime - previousTime;
+			previousTime = currentTime;
+
+			long timePerUpdate = nanosPerUpdate;
+			int steps = 0;
+			while (accumulator >= timePerUpdate && steps < MAX_CATCH_UP_STEPS) {
+				game.update();
+				accumulator -= timePerUpdate;
+				updates++;
+				steps++;
+			}
+			// still behind after the cap: drop the backlog rather than fall further behind
+			if (accumulator >= timePerUpdate)
+				accumulator %= timePerUpdate;
+
+			long timePerFrame = nanosPerFrame;
+			if (currentTime - nextFrameTime >= 0) {
+				surface.renderFrame();
+				frames++;
+				nextFrameTime += timePerFrame;
+				if (currentTime - nextFrameTime >= 0)
+					nextFrameTime = currentTime + timePerFrame;
+			}
+
+			if (showFpsUps && currentTime - lastCheck >= 1_000_000_000L) {
+				lastCheck = currentTime;
+				System.out.println("FPS: " + frames + " | presented: " + surface.pollPresentedFrames() + " | UPS: " + updates);
+				frames = 0;
+				updates = 0;
+			}
+
+			long nextUpdateTime = currentTime + (timePerUpdate - accumulator);
+			sleepUntil(Math.min(nextUpdateTime, nextFrameTime));
+		}
+	}
+
+	private void sleepUntil(long deadline) {
+		long remaining = deadline - System.nanoTime();
+		while (remaining > SPIN_NANOS) {
+			LockSupport.parkNanos(remaining - SPIN_NANOS);
+			remaining = deadline - System.nanoTime();
+		}
+		while (deadline - System.nanoTime() > 0)
+			Thread.onSpinWait();
+	}
+
+	public void setTargetFps(int fps) {
+		nanosPerFrame = 1_000_000_000L / Math.max(1, fps);
+	}
+
+	public void setTargetUps(int ups) {
+		nanosPerUpdate = 1_000_000_000L / Math.max(1, ups);
+	}
+
+	public int getTargetFps() {
+		return (int) (1_000_000_000L / nanosPerFrame);
+	}
+
+	public int getTargetUps() {
+		return (int) (1_000_000_000L / nanosPerUpdate);
+	}
+
+	public void stop() {
+		running = false;
+	}
+}
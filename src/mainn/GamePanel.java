@@ -1,26 +1,27 @@
 package mainn;
 
-import inputs.KeyboardInputs;
-import inputs.MouseInputs;
+import java.awt.Component;
 import java.awt.Dimension;
 import java.awt.Graphics; 
 import java.awt.image.BufferedImage; 
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.swing.JPanel;
 import static mainn.Game.*; 
 
-public class GamePanel extends JPanel {
+public class GamePanel extends JPanel implements GameSurface {
 
     private Game game;
-    private MouseInputs mouseInputs;
+    private AtomicInteger presentedFrames = new AtomicInteger();
+    private SnapshotBuffer snapshots = new SnapshotBuffer(GAME_WIDTH, GAME_HEIGHT);
+    private long lastPaintedSequence;
 
     public GamePanel(Game game) {
-        mouseInputs = new MouseInputs(this);
         this.game = game;
         setPanelSize();
 
-        addKeyListener(new KeyboardInputs(this));
-        addMouseListener(mouseInputs);
-        addMouseMotionListener(mouseInputs);
+        addKeyListener(game.getKeyboardInputs());
+        addMouseListener(game.getMouseInputs());
+        addMouseMotionListener(game.getMouseInputs());
 
         setFocusable(true);
         requestFocusInWindow();
@@ -35,12 +36,46 @@ public class GamePanel extends JPanel {
     
     }
 
+    // runs on the EDT: only blits the newest frame the game thread finished,
+    // it never reads game state itself
     @Override
     public void paintComponent(Graphics g) {
         super.paintComponent(g);
-        game.render(g);
-        
-        
+        SnapshotBuffer.Snapshot frame = snapshots.acquireFront();
+        g.drawImage(frame.getImage(), 0, 0, null);
+        if (frame.getSequence() != lastPaintedSequence) {
+            lastPaintedSequence = frame.getSequence();
+            presentedFrames.incrementAndGet();
+            game.getInputLatency().presented(lastPaintedSequence);
+        }
+    }
+
+    @Override
+    public Component getComponent() {
+        return this;
+    }
+
+    // passive mode: the frame is composed here on the game thread, Swing decides
+    // when (and whether) it gets painted
+    @Override
+    public void renderFrame() {
+        BufferedImage img = snapshots.getBack().getImage();
+        Graphics g = img.getGraphics();
+        try {
+            g.setColor(getBackground());
+            g.fillRect(0, 0, GAME_WIDTH, GAME_HEIGHT);
+            game.render(g);
+        } finally {
+            g.dispose();
+        }
+        game.getInputLatency().rendered(snapshots.getNextSequence());
+        snapshots.publish();
+        repaint();
+    }
+
+    @Override
+    public int pollPresentedFrames() {
+        return presentedFrames.getAndSet(0);
     }
 
     public Game getGame() {
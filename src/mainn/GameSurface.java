@@ -0,0 +1,15 @@
+package mainn;
+
+import java.awt.Component;
+
+// what the game loop draws into each frame
+public interface GameSurface {
+
+	public Component getComponent();
+
+	// draw (or request) one frame of the current game state
+	public void renderFrame();
+
+	// frames that actually reached the screen since the last call
+	public int pollPresentedFrames();
+}
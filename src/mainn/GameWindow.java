@@ -1,5 +1,6 @@
 package mainn;
 
+import java.awt.Component;
 import java.awt.event.WindowEvent;
 import java.awt.event.WindowFocusListener;
 import javax.swing.JFrame;
@@ -7,12 +8,12 @@ import javax.swing.JFrame;
 public class GameWindow {
 	private JFrame jframe;
 
-	public GameWindow(GamePanel gamePanel) {
+	public GameWindow(Game game, Component surface) {
 
 		jframe = new JFrame();
 
 		jframe.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-		jframe.add(gamePanel);
+		jframe.add(surface);
 		jframe.pack();
 		jframe.setLocationRelativeTo(null);
                 jframe.setResizable(false);
@@ -21,7 +22,7 @@ public class GameWindow {
 
 			@Override
 			public void windowLostFocus(WindowEvent e) {
-				gamePanel.getGame().windowFocusLost();
+				game.windowFocusLost();
 			}
 
 			@Override
@@ -0,0 +1,53 @@
+package mainn;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import gamestates.Gamestate;
+import inputs.InputSource;
+import inputs.ScriptedInput;
+
+// runs the update pipeline with no window and no audio, as fast as the CPU
+// allows. usage: HeadlessRunner <ticks> [script file]
+public class HeadlessRunner {
+
+	private Game game;
+
+	public HeadlessRunner() {
+		System.setProperty("java.awt.headless", "true");
+		game = new Game(true);
+	}
+
+	// starts a fresh session and simulates up to maxTicks updates, stopping early
+	// once the run leaves the PLAYING state (game completed or quit)
+	public long run(long maxTicks, InputSource input) {
+		game.setInputSource(input);
+		game.StartNewGame();
+		long ticks = 0;
+		while (ticks < maxTicks && Gamestate.state == Gamestate.PLAYING) {
+			game.update();
+			ticks++;
+		}
+		return ticks;
+	}
+
+	public Game getGame() {
+		return game;
+	}
+
+	public static void main(String[] args) throws IOException {
+		long maxTicks = args.length > 0 ? Long.parseLong(args[0]) : 100_000;
+		InputSource input = args.length > 1 ? ScriptedInput.Load(Path.of(args[1])) : new ScriptedInput();
+
+		HeadlessRunner runner = new HeadlessRunner();
+		long start = System.nanoTime();
+		long ticks = runner.run(maxTicks, input);
+		double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+		System.out.println("Simulated " + ticks + " ticks in " + String.format("%.3f", seconds) + " s");
+		System.out.println("Ticks per second: " + (long) (ticks / seconds) + " (" + String.format("%.1f", ticks / seconds / Game.UPS_SET) + "x real time)");
+		System.out.println("Final state: " + Gamestate.state + ", level " + (runner.getGame().getPlaying().getLevelManager().getLevelIndex() + 1)
+				+ ", lives " + runner.getGame().getPlaying().getPlayer().getLives());
+		System.exit(0);
+	}
+}
@@ -0,0 +1,20 @@
+package mainn;
+
+public enum RenderMode {
+
+	// Swing paints the panel on the EDT after GamePanel.repaint() is queued
+	PASSIVE,
+	// the game thread draws into a Canvas BufferStrategy and flips it itself
+	ACTIVE,
+	// the game thread draws into its own VolatileImage backbuffer and copies it
+	// to a Canvas; static backgrounds are kept in volatile images as well
+	VOLATILE;
+
+	public static RenderMode fromProperty(String value) {
+		if (value != null && value.equalsIgnoreCase("active"))
+			return ACTIVE;
+		if (value != null && value.equalsIgnoreCase("volatile"))
+			return VOLATILE;
+		return PASSIVE;
+	}
+}
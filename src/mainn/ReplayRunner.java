@@ -0,0 +1,43 @@
+package mainn;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import inputs.Replay;
+import inputs.ReplayInput;
+import utilz.GameRandom;
+
+// re-simulates a recorded run. headless by default, as fast as the CPU allows;
+// with --window the run is played back in a normal game window instead.
+// usage: ReplayRunner <replay file> [--window]
+public class ReplayRunner {
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 1) {
+			System.err.println("Usage: ReplayRunner <replay file> [--window]");
+			System.exit(1);
+		}
+
+		Replay replay = Replay.Read(Path.of(args[0]));
+		GameRandom.SetSeed(replay.getSeed());
+
+		if (args.length > 1 && args[1].equals("--window")) {
+			Game game = new Game();
+			game.startSession(new ReplayInput(replay));
+			return;
+		}
+
+		HeadlessRunner runner = new HeadlessRunner();
+		long start = System.nanoTime();
+		long ticks = runner.run(replay.getFinalTicks(), new ReplayInput(replay));
+		double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+		long timeMillis = runner.getGame().getPlaying().getTotalGameTimeMillis();
+
+		System.out.println("Replayed " + replay.getEventCount() + " events over " + ticks + " ticks in " + String.format("%.3f", seconds) + " s");
+		System.out.println("Recorded: " + replay.getFinalTicks() + " ticks, " + replay.getFinalTimeMillis() + " ms" + (replay.isCompleted() ? "" : " (unfinished run)"));
+		System.out.println("Simulated: " + ticks + " ticks, " + timeMillis + " ms");
+		boolean match = ticks == replay.getFinalTicks() && (!replay.isCompleted() || timeMillis == replay.getFinalTimeMillis());
+		System.out.println(match ? "Replay matches the recording" : "Replay DIVERGED from the recording");
+		System.exit(match ? 0 : 2);
+	}
+}
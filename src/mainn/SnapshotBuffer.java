@@ -0,0 +1,68 @@
+package mainn;
+
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.atomic.AtomicReference;
+
+import utilz.LoadSave;
+
+// lock-free triple buffer of finished frames. the game thread draws into its
+// back snapshot and publishes it; the painting thread picks up the newest
+// published one. neither side ever touches a snapshot the other is using.
+public class SnapshotBuffer {
+
+	public static class Snapshot {
+		private final BufferedImage image;
+		private long sequence;
+
+		private Snapshot(BufferedImage image) {
+			this.image = image;
+		}
+
+		public BufferedImage getImage() {
+			return image;
+		}
+
+		public long getSequence() {
+			return sequence;
+		}
+	}
+
+	private final AtomicReference<Snapshot> latest;
+	private Snapshot back; // game thread only
+	private Snapshot front; // painting thread only
+	private long nextSequence = 1;
+
+	public SnapshotBuffer(int width, int height) {
+		back = newSnapshot(width, height);
+		front = newSnapshot(width, height);
+		latest = new AtomicReference<>(newSnapshot(width, height));
+	}
+
+	private Snapshot newSnapshot(int width, int height) {
+		return new Snapshot(LoadSave.CreateCompatibleImage(width, height, Transparency.OPAQUE));
+	}
+
+	// game thread: the snapshot to draw the next frame into
+	public Snapshot getBack() {
+		return back;
+	}
+
+	// game thread: the sequence the back snapshot gets when it is published
+	public long getNextSequence() {
+		return nextSequence;
+	}
+
+	// game thread: hand the finished back snapshot over and take a free one
+	public void publish() {
+		back.sequence = nextSequence++;
+		back = latest.getAndSet(back);
+	}
+
+	// painting thread: the newest finished frame; stays valid until the next call
+	public Snapshot acquireFront() {
+		if (latest.get().sequence > front.sequence)
+			front = latest.getAndSet(front);
+		return front;
+	}
+}
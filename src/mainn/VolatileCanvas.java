@@ -0,0 +1,96 @@
+package mainn;
+
+import java.awt.Canvas;
+import java.awt.Component;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Toolkit;
+import java.awt.Transparency;
+import java.awt.image.VolatileImage;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static mainn.Game.*;
+
+// the game thread draws each frame into a VolatileImage backbuffer, which can
+// live in video memory, and copies it onto the canvas itself. the backbuffer
+// is validated against the canvas before every frame and recreated when it no
+// longer fits; as the whole frame is redrawn each time, a restored buffer
+// needs nothing else, and a frame whose buffer was lost while being copied is
+// simply drawn again.
+public class VolatileCanvas extends Canvas implements GameSurface {
+
+	private Game game;
+	private VolatileImage backBuffer;
+	private AtomicInteger presentedFrames = new AtomicInteger();
+	private long renderedFrames;
+	private int lostFrames;
+
+	public VolatileCanvas(Game game) {
+		this.game = game;
+		setPreferredSize(new Dimension(GAME_WIDTH, GAME_HEIGHT));
+		setIgnoreRepaint(true);
+
+		addKeyListener(game.getKeyboardInputs());
+		addMouseListener(game.getMouseInputs());
+		addMouseMotionListener(game.getMouseInputs());
+
+		setFocusable(true);
+	}
+
+	@Override
+	public Component getComponent() {
+		return this;
+	}
+
+	@Override
+	public void renderFrame() {
+		if (!isDisplayable())
+			return;
+		GraphicsConfiguration gc = getGraphicsConfiguration();
+		long frame = ++renderedFrames;
+
+		do {
+			if (backBuffer == null || backBuffer.validate(gc) == VolatileImage.IMAGE_INCOMPATIBLE) {
+				if (backBuffer != null)
+					backBuffer.flush();
+				backBuffer = gc.createCompatibleVolatileImage(GAME_WIDTH, GAME_HEIGHT, Transparency.OPAQUE);
+			}
+
+			Graphics2D g = backBuffer.createGraphics();
+			try {
+				g.clearRect(0, 0, GAME_WIDTH, GAME_HEIGHT);
+				game.render(g);
+			} finally {
+				g.dispose();
+			}
+
+			Graphics screen = getGraphics();
+			if (screen == null)
+				return;
+			try {
+				screen.drawImage(backBuffer, 0, 0, null);
+			} finally {
+				screen.dispose();
+			}
+			if (backBuffer.contentsLost())
+				lostFrames++;
+		} while (backBuffer.contentsLost());
+
+		game.getInputLatency().rendered(frame);
+		Toolkit.getDefaultToolkit().sync();
+		presentedFrames.incrementAndGet();
+		game.getInputLatency().presented(frame);
+	}
+
+	@Override
+	public int pollPresentedFrames() {
+		return presentedFrames.getAndSet(0);
+	}
+
+	// frames that had to be drawn again because the backbuffer was lost
+	public int getLostFrames() {
+		return lostFrames;
+	}
+}
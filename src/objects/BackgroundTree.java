@@ -1,6 +1,6 @@
 package objects;
 
-import java.util.Random;
+import utilz.GameRandom;
 
 public class BackgroundTree {
 
@@ -11,8 +11,7 @@ public class BackgroundTree {
 		this.y = y;
 		this.type = type;
 
-		Random r = new Random();
-		aniIndex = r.nextInt(4);
+		aniIndex = GameRandom.ForPosition(x, y).nextInt(4);
 
 	}
 
@@ -26,6 +25,12 @@ public class BackgroundTree {
 		}
 	}
 
+	// as if update() had already run that many times
+	public void skipTicks(int ticks) {
+		aniIndex = (aniIndex + (aniTick + ticks) / 35) % 4;
+		aniTick = (aniTick + ticks) % 35;
+	}
+
 	public int getAniIndex() {
 		return aniIndex;
 	}
@@ -66,6 +66,15 @@ public class GameObject {
         g.drawRect((int) hitbox.x - xLvlOffset, (int) hitbox.y, (int) hitbox.width, (int) hitbox.height);
     }
 
+    // where it was placed, before any hitbox offset
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
     public int getObjType() {
         return objType;
     }
@@ -4,13 +4,18 @@ import java.awt.Graphics;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
+import java.util.function.Predicate;
 
-import entities.Enemy;
 import entities.Player;
 import gamestates.Playing;
+import levels.CollisionGrid;
 import levels.Level;
+import levels.LevelChunk;
 import mainn.Game;
 import utilz.LoadSave;
+import utilz.SpatialHash;
+import utilz.SpriteCache;
+import utilz.Viewport;
 import static utilz.Constants.ObjectConstants.*;
 import static utilz.HelpMethods.CanCannonSeePlayer;
 import static utilz.HelpMethods.IsProjectileHittingLevel;
@@ -23,18 +28,30 @@ public class ObjectManager {
 
     private Playing playing;
     private BufferedImage[][] potionImgs, containerImgs;
-    private BufferedImage[] cannonImgs, grassImgs;
+    private BufferedImage[] cannonImgs, mirroredCannonImgs, grassImgs;
     private BufferedImage[][] treeImgs;
     private BufferedImage spikeImg, cannonBallImg;
 
     private BufferedImage[] starImgs;
-    private ArrayList<Star> stars;
 
-    private ArrayList<Potion> potions;
-    private ArrayList<GameContainer> containers;
-    private ArrayList<Projectile> projectiles = new ArrayList<>();
+    // objects of the level's live chunks; the rest are dormant records in their chunk
+    private ArrayList<Star> stars = new ArrayList<>();
+    private ArrayList<Potion> potions = new ArrayList<>();
+    private ArrayList<GameContainer> containers = new ArrayList<>();
+    private ArrayList<Spike> spikes = new ArrayList<>();
+    private ArrayList<Cannon> cannons = new ArrayList<>();
+    private ArrayList<BackgroundTree> trees = new ArrayList<>();
+    private ArrayList<Grass> grass = new ArrayList<>();
+    private ProjectilePool projectiles = new ProjectilePool(ProjectilePool.DEFAULT_CAPACITY);
 
     private Level currentLevel;
+    // the live chunk range the lists were last filled for
+    private int loadedFirst, loadedLast = -1;
+    // ticks the level's trees have animated for, so a tree coming back from
+    // a dormant chunk is on the frame it would have been on
+    private int treeTicks;
+    // spikes never move, so they are hashed whenever the live ones change, by index in spikes
+    private SpatialHash spikeHash = new SpatialHash();
 
     public ObjectManager(Playing playing) {
         this.playing = playing;
@@ -43,15 +60,14 @@ public class ObjectManager {
     }
 
     public void checkSpikesTouched(Player p) {
-        for (Spike s : currentLevel.getSpikes())
-            if (s.getHitbox().intersects(p.getHitbox()))
-                p.kill();
+        spikeHash.query(p.getHitbox());
+        for (int s = spikeHash.next(); s >= 0; s = spikeHash.next())
+            p.kill();
     }
 
-    public void checkSpikesTouched(Enemy e) {
-        for (Spike s : currentLevel.getSpikes())
-            if (s.getHitbox().intersects(e.getHitbox()))
-                e.hurt(200);
+    public boolean isTouchingSpikes(float x, float y, float width, float height) {
+        spikeHash.query(x, y, width, height);
+        return spikeHash.next() >= 0;
     }
 
     public void checkObjectTouched(Rectangle2D.Float hitbox) {
@@ -100,58 +116,105 @@ public class ObjectManager {
 
     public void loadObjects(Level newLevel) {
         currentLevel = newLevel;
-        potions = new ArrayList<>(newLevel.getPotions());
-        containers = new ArrayList<>(newLevel.getContainers());
+        treeTicks = 0;
+        projectiles.setBounds(newLevel.getCollisionGrid().getTilesWide() * Game.TILES_SIZE, newLevel.getCollisionGrid().getTilesHigh() * Game.TILES_SIZE);
+        resetAllObjects();
+    }
 
-        stars = new ArrayList<>(newLevel.getStars());
+    // follows the level's live chunks: objects now outside them go back to
+    // their chunk as (type, x, y) records, leaving out the used up ones, and
+    // the records of chunks that just went live become objects again
+    private void streamObjects() {
+        int first = currentLevel.getFirstLiveChunk(), last = currentLevel.getLastLiveChunk();
+        if (first == loadedFirst && last == loadedLast)
+            return;
+
+        makeDormant(potions, p -> p.isActive());
+        makeDormant(containers, gc -> gc.isActive() && !gc.doAnimation);
+        makeDormant(spikes, s -> true);
+        makeDormant(cannons, c -> true);
+        makeDormant(stars, s -> s.isActive());
+        trees.removeIf(bt -> makeDormant(bt.getType(), bt.getX(), bt.getY(), true));
+        grass.removeIf(gr -> !currentLevel.isLive(currentLevel.chunkOf(gr.getX())));
+
+        for (int c = first; c <= last; c++)
+            if (c < loadedFirst || c > loadedLast)
+                wake(currentLevel.getChunk(c));
+
+        spikeHash.reset(currentLevel.getCollisionGrid().getTilesWide());
+        for (int i = 0; i < spikes.size(); i++)
+            spikeHash.insert(i, spikes.get(i).getHitbox());
+        loadedFirst = first;
+        loadedLast = last;
+    }
 
-        projectiles.clear();
+    private <T extends GameObject> void makeDormant(ArrayList<T> objects, Predicate<T> present) {
+        objects.removeIf(o -> makeDormant(o.getObjType(), o.getX(), o.getY(), present.test(o)));
+    }
+
+    // false if x is in a live chunk; otherwise true, after recording the
+    // object in its chunk if it is still present
+    private boolean makeDormant(int type, int x, int y, boolean present) {
+        int c = currentLevel.chunkOf(x);
+        if (currentLevel.isLive(c))
+            return false;
+        if (present)
+            currentLevel.getChunk(c).addDormantObject(type, x, y);
+        return true;
+    }
+
+    private void wake(LevelChunk chunk) {
+        int[] records = chunk.getDormantObjects();
+        for (int i = 0; i < chunk.getDormantObjectInts(); i += 3) {
+            int type = records[i], x = records[i + 1], y = records[i + 2];
+            switch (type) {
+            case RED_POTION, BLUE_POTION -> potions.add(new Potion(x, y, type));
+            case BOX, BARREL -> containers.add(new GameContainer(x, y, type));
+            case SPIKE -> spikes.add(new Spike(x, y, SPIKE));
+            case CANNON_LEFT, CANNON_RIGHT -> cannons.add(new Cannon(x, y, type));
+            case STAR -> stars.add(new Star(x, y, type));
+            case TREE_ONE, TREE_TWO, TREE_THREE -> {
+                BackgroundTree bt = new BackgroundTree(x, y, type);
+                bt.skipTicks(treeTicks);
+                trees.add(bt);
+            }
+            }
+        }
+        chunk.clearDormantObjects();
+
+        int[] grassData = chunk.getGrass();
+        for (int i = 0; i < grassData.length; i += 3) {
+            int x = grassData[i], y = grassData[i + 1], type = grassData[i + 2];
+            grass.add(new Grass(x * Game.TILES_SIZE, y * Game.TILES_SIZE - Game.TILES_SIZE, type));
+        }
     }
 
+    // everything is cut and scaled to its draw size once, see SpriteCache
     private void loadImgs() {
-        BufferedImage potionSprite = LoadSave.GetSpriteAtlas(LoadSave.POTION_ATLAS);
-        potionImgs = new BufferedImage[2][7];
-        for (int j = 0; j < potionImgs.length; j++)
-            for (int i = 0; i < potionImgs[j].length; i++)
-                potionImgs[j][i] = potionSprite.getSubimage(12 * i, 16 * j, 12, 16);
-
-        BufferedImage containerSprite = LoadSave.GetSpriteAtlas(LoadSave.CONTAINER_ATLAS);
-        containerImgs = new BufferedImage[2][8];
-        for (int j = 0; j < containerImgs.length; j++)
-            for (int i = 0; i < containerImgs[j].length; i++)
-                containerImgs[j][i] = containerSprite.getSubimage(40 * i, 30 * j, 40, 30);
-
-        spikeImg = LoadSave.GetSpriteAtlas(LoadSave.TRAP_ATLAS);
-
-        cannonImgs = new BufferedImage[7];
-        BufferedImage tempCannon = LoadSave.GetSpriteAtlas(LoadSave.CANNON_ATLAS);
-        for (int i = 0; i < cannonImgs.length; i++)
-            cannonImgs[i] = tempCannon.getSubimage(i * 40, 0, 40, 26);
-
-        cannonBallImg = LoadSave.GetSpriteAtlas(LoadSave.CANNON_BALL);
-
-        treeImgs = new BufferedImage[2][4];
-        BufferedImage treeOneImg = LoadSave.GetSpriteAtlas(LoadSave.TREE_ONE_ATLAS);
-        for (int i = 0; i < 4; i++)
-            treeImgs[0][i] = treeOneImg.getSubimage(i * 39, 0, 39, 92);
-        BufferedImage treeTwoImg = LoadSave.GetSpriteAtlas(LoadSave.TREE_TWO_ATLAS);
-        for (int i = 0; i < 4; i++)
-            treeImgs[1][i] = treeTwoImg.getSubimage(i * 62, 0, 62, 54);
-
-        BufferedImage grassTemp = LoadSave.GetSpriteAtlas(LoadSave.GRASS_ATLAS);
-        grassImgs = new BufferedImage[2];
-        for (int i = 0; i < grassImgs.length; i++)
-            grassImgs[i] = grassTemp.getSubimage(32 * i, 0, 32, 32);
+        potionImgs = SpriteCache.GetFrames(LoadSave.POTION_ATLAS, 7, 2, POTION_WIDTH_DEFAULT, POTION_HEIGHT_DEFAULT, POTION_WIDTH, POTION_HEIGHT);
+        containerImgs = SpriteCache.GetFrames(LoadSave.CONTAINER_ATLAS, 8, 2, CONTAINER_WIDTH_DEFAULT, CONTAINER_HEIGHT_DEFAULT, CONTAINER_WIDTH, CONTAINER_HEIGHT);
+        spikeImg = SpriteCache.GetImage(LoadSave.TRAP_ATLAS, SPIKE_WIDTH, SPIKE_HEIGHT);
+
+        cannonImgs = SpriteCache.GetFrames(LoadSave.CANNON_ATLAS, 7, 1, CANNON_WIDTH_DEFAULT, CANNON_HEIGHT_DEFAULT, CANNON_WIDTH, CANNON_HEIGHT)[0];
+        // right facing cannons are drawn mirrored
+        mirroredCannonImgs = SpriteCache.Mirror(cannonImgs);
+
+        cannonBallImg = SpriteCache.GetImage(LoadSave.CANNON_BALL, CANNON_BALL_WIDTH, CANNON_BALL_HEIGHT);
+
+        // by type - TREE_ONE; the third tree is the second one mirrored
+        treeImgs = new BufferedImage[3][];
+        treeImgs[0] = SpriteCache.GetFrames(LoadSave.TREE_ONE_ATLAS, 4, 1, 39, 92, GetTreeWidth(TREE_ONE), GetTreeHeight(TREE_ONE))[0];
+        treeImgs[1] = SpriteCache.GetFrames(LoadSave.TREE_TWO_ATLAS, 4, 1, 62, 54, GetTreeWidth(TREE_TWO), GetTreeHeight(TREE_TWO))[0];
+        treeImgs[2] = SpriteCache.Mirror(treeImgs[1]);
+
+        grassImgs = SpriteCache.GetFrames(LoadSave.GRASS_ATLAS, 2, 1, 32, 32, Game.TILES_SIZE, Game.TILES_SIZE)[0];
 
         // load star images
-        BufferedImage starAtlas = LoadSave.GetSpriteAtlas(LoadSave.STAR_ANIMATION);
-        starImgs = new BufferedImage[GetSpriteAmount(STAR)];
-        for (int i = 0; i < starImgs.length; i++) {
-            starImgs[i] = starAtlas.getSubimage(i * STAR_WIDTH_DEFAULT, 0, STAR_WIDTH_DEFAULT, STAR_HEIGHT_DEFAULT);
-        }
+        starImgs = SpriteCache.GetFrames(LoadSave.STAR_ANIMATION, GetSpriteAmount(STAR), 1, STAR_WIDTH_DEFAULT, STAR_HEIGHT_DEFAULT, STAR_WIDTH, STAR_HEIGHT)[0];
     }
 
-    public void update(int[][] lvlData, Player player) {
+    public void update(CollisionGrid lvlData, Player player) {
+        streamObjects();
         updateBackgroundTrees();
         for (Potion p : potions)
             if (p.isActive())
@@ -176,19 +239,22 @@ public class ObjectManager {
     }
 
     private void updateBackgroundTrees() {
-        for (BackgroundTree bt : currentLevel.getTrees())
+        for (BackgroundTree bt : trees)
             bt.update();
+        treeTicks++;
     }
 
-    private void updateProjectiles(int[][] lvlData, Player player) {
-        for (Projectile p : projectiles)
-            if (p.isActive()) {
-                p.updatePos();
-                if (p.getHitbox().intersects(player.getHitbox())) {
+    private void updateProjectiles(CollisionGrid lvlData, Player player) {
+        projectiles.updatePositions();
+        for (int i = 0; i < projectiles.getSlotLimit(); i++)
+            if (projectiles.isActive(i)) {
+                float x = projectiles.getX(i);
+                float y = projectiles.getY(i);
+                if (player.getHitbox().intersects(x, y, CANNON_BALL_WIDTH, CANNON_BALL_HEIGHT)) {
                     player.hit();
-                    p.setActive(false);
-                } else if (IsProjectileHittingLevel(p, lvlData))
-                    p.setActive(false);
+                    projectiles.free(i);
+                } else if (IsProjectileHittingLevel(x, y, lvlData))
+                    projectiles.free(i);
             }
     }
 
@@ -206,8 +272,8 @@ public class ObjectManager {
         return false;
     }
 
-    private void updateCannons(int[][] lvlData, Player player) {
-        for (Cannon c : currentLevel.getCannons()) {
+    private void updateCannons(CollisionGrid lvlData, Player player) {
+        for (Cannon c : cannons) {
             if (!c.doAnimation)
                 if (c.getTileY() == player.getTileY())
                     if (isPlayerInRange(c, player))
@@ -226,7 +292,7 @@ public class ObjectManager {
         if (c.getObjType() == CANNON_LEFT)
             dir = -1;
 
-        projectiles.add(new Projectile((int) c.getHitbox().x, (int) c.getHitbox().y, dir));
+        projectiles.spawn((int) c.getHitbox().x, (int) c.getHitbox().y, dir);
     }
 
     public void draw(Graphics g, int xLvlOffset) {
@@ -243,93 +309,102 @@ public class ObjectManager {
     }
 
     private void drawGrass(Graphics g, int xLvlOffset) {
-        for (Grass grassObj : currentLevel.getGrass())
-            g.drawImage(grassImgs[grassObj.getType()], grassObj.getX() - xLvlOffset, grassObj.getY(), (int) (32 * Game.SCALE), (int) (32 * Game.SCALE), null);
+        Viewport viewport = playing.getViewport();
+        for (Grass grassObj : grass)
+            if (viewport.isVisible(grassObj.getX(), Game.TILES_SIZE))
+                g.drawImage(grassImgs[grassObj.getType()], grassObj.getX() - xLvlOffset, grassObj.getY(), null);
     }
 
     public void drawBackgroundTrees(Graphics g, int xLvlOffset) {
-        for (BackgroundTree bt : currentLevel.getTrees()) {
+        Viewport viewport = playing.getViewport();
+        for (BackgroundTree bt : trees) {
+            if (!viewport.isVisible(bt.getX() + GetTreeOffsetX(bt.getType()), GetTreeWidth(bt.getType())))
+                continue;
             int type = bt.getType();
-            if (type == 9)
-                type = 8;
-            g.drawImage(treeImgs[type - 7][bt.getAniIndex()], bt.getX() - xLvlOffset + GetTreeOffsetX(bt.getType()), (int) (bt.getY() + GetTreeOffsetY(bt.getType())), GetTreeWidth(bt.getType()),
-                GetTreeHeight(bt.getType()), null);
+            // a negative width is drawn mirrored, ending at x
+            int x = bt.getX() - xLvlOffset + GetTreeOffsetX(type) + Math.min(0, GetTreeWidth(type));
+            g.drawImage(treeImgs[type - TREE_ONE][bt.getAniIndex()], x, (int) (bt.getY() + GetTreeOffsetY(type)), null);
         }
     }
 
     private void drawProjectiles(Graphics g, int xLvlOffset) {
-        for (Projectile p : projectiles)
-            if (p.isActive())
-                g.drawImage(cannonBallImg, (int) (p.getHitbox().x - xLvlOffset), (int) (p.getHitbox().y), CANNON_BALL_WIDTH, CANNON_BALL_HEIGHT, null);
+        Viewport viewport = playing.getViewport();
+        for (int i = 0; i < projectiles.getSlotLimit(); i++)
+            if (projectiles.isActive(i) && viewport.isVisible(projectiles.getX(i), CANNON_BALL_WIDTH))
+                g.drawImage(cannonBallImg, (int) (projectiles.getX(i) - xLvlOffset), (int) (projectiles.getY(i)), null);
     }
 
     private void drawCannons(Graphics g, int xLvlOffset) {
-        for (Cannon c : currentLevel.getCannons()) {
-            int x = (int) (c.getHitbox().x - xLvlOffset);
-            int width = CANNON_WIDTH;
-
-            if (c.getObjType() == CANNON_RIGHT) {
-                x += width;
-                width *= -1;
-            }
-            g.drawImage(cannonImgs[c.getAniIndex()], x, (int) (c.getHitbox().y), width, CANNON_HEIGHT, null);
+        Viewport viewport = playing.getViewport();
+        for (Cannon c : cannons) {
+            if (!viewport.isVisible(c.getHitbox().x, CANNON_WIDTH))
+                continue;
+            BufferedImage[] frames = c.getObjType() == CANNON_RIGHT ? mirroredCannonImgs : cannonImgs;
+            g.drawImage(frames[c.getAniIndex()], (int) (c.getHitbox().x - xLvlOffset), (int) (c.getHitbox().y), null);
         }
     }
 
     private void drawTraps(Graphics g, int xLvlOffset) {
-        for (Spike s : currentLevel.getSpikes())
-            g.drawImage(spikeImg, (int) (s.getHitbox().x - xLvlOffset), (int) (s.getHitbox().y - s.getyDrawOffset()), SPIKE_WIDTH, SPIKE_HEIGHT, null);
+        Viewport viewport = playing.getViewport();
+        for (Spike s : spikes)
+            if (viewport.isVisible(s.getHitbox().x, SPIKE_WIDTH))
+                g.drawImage(spikeImg, (int) (s.getHitbox().x - xLvlOffset), (int) (s.getHitbox().y - s.getyDrawOffset()), null);
     }
 
     private void drawContainers(Graphics g, int xLvlOffset) {
+        Viewport viewport = playing.getViewport();
         for (GameContainer gc : containers)
-            if (gc.isActive()) {
+            if (gc.isActive() && viewport.isVisible(gc.getHitbox().x - gc.getxDrawOffset(), CONTAINER_WIDTH)) {
                 int type = 0;
                 if (gc.getObjType() == BARREL)
                     type = 1;
-                g.drawImage(containerImgs[type][gc.getAniIndex()], (int) (gc.getHitbox().x - gc.getxDrawOffset() - xLvlOffset), (int) (gc.getHitbox().y - gc.getyDrawOffset()), CONTAINER_WIDTH,
-                    CONTAINER_HEIGHT, null);
+                g.drawImage(containerImgs[type][gc.getAniIndex()], (int) (gc.getHitbox().x - gc.getxDrawOffset() - xLvlOffset), (int) (gc.getHitbox().y - gc.getyDrawOffset()), null);
             }
     }
 
     private void drawPotions(Graphics g, int xLvlOffset) {
+        Viewport viewport = playing.getViewport();
         for (Potion p : potions)
-            if (p.isActive()) {
+            if (p.isActive() && viewport.isVisible(p.getHitbox().x - p.getxDrawOffset(), POTION_WIDTH)) {
                 int type = 0;
                 if (p.getObjType() == BLUE_POTION)
                     type = 1;
-                g.drawImage(potionImgs[type][p.getAniIndex()], (int) (p.getHitbox().x - p.getxDrawOffset() - xLvlOffset), (int) (p.getHitbox().y - p.getyDrawOffset()), POTION_WIDTH, POTION_HEIGHT,
-                    null);
+                g.drawImage(potionImgs[type][p.getAniIndex()], (int) (p.getHitbox().x - p.getxDrawOffset() - xLvlOffset), (int) (p.getHitbox().y - p.getyDrawOffset()), null);
             }
     }
 
     // drawstars
     private void drawStars(Graphics g, int xLvlOffset) {
+        Viewport viewport = playing.getViewport();
         for (Star s : stars) {
-            if (s.isActive()) {
+            if (s.isActive() && viewport.isVisible(s.getHitbox().x - s.getxDrawOffset(), STAR_WIDTH)) {
                 g.drawImage(starImgs[s.getAniIndex()],
                         (int) (s.getHitbox().x - s.getxDrawOffset() - xLvlOffset),
                         (int) (s.getHitbox().y - s.getyDrawOffset()),
-                        STAR_WIDTH, STAR_HEIGHT, null);
+                        null);
             }
         }
     }
 
+    // every object back to where the level places it, made again from the
+    // chunks' spawn tables
     public void resetAllObjects() {
-        loadObjects(playing.getLevelManager().getCurrentLevel());
-
-        for (Potion p : potions)
-            p.reset();
-        for (GameContainer gc : containers)
-            gc.reset();
-        for (Star s : stars)
-            s.reset();
-
-        for (Cannon c : currentLevel.getCannons())
-            c.reset();
-        for (Spike s : currentLevel.getSpikes())
-            s.reset();
+        potions.clear();
+        containers.clear();
+        spikes.clear();
+        cannons.clear();
+        stars.clear();
+        trees.clear();
+        grass.clear();
+        currentLevel.resetDormantObjects();
+        loadedFirst = 0;
+        loadedLast = -1;
+        streamObjects();
 
         projectiles.clear();
     }
+
+    public ProjectilePool getProjectilePool() {
+        return projectiles;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,128 @@
+package objects;
+
+import mainn.Game;
+
+import static utilz.Constants.Projectiles.*;
+
+// cannon balls in a fixed number of slots, stored as parallel arrays. free
+// slots sit on a stack so spawning reuses the most recently freed one, and
+// nothing is allocated once the pool exists. a shot fired while every slot
+// is in use is dropped and counted.
+public class ProjectilePool {
+
+	public static final int DEFAULT_CAPACITY = 64;
+
+	private final float[] x;
+	private final float[] y;
+	private final byte[] dir;
+	private final boolean[] active;
+	private final int[] freeSlots;
+	private int freeCount;
+	// one past the highest slot handed out since the last clear, so scans stop there
+	private int slotLimit;
+
+	private int activeCount;
+	private int highWaterMark;
+	private int droppedCount;
+	private float maxX, maxY;
+
+	public ProjectilePool(int capacity) {
+		x = new float[capacity];
+		y = new float[capacity];
+		dir = new byte[capacity];
+		active = new boolean[capacity];
+		freeSlots = new int[capacity];
+		clear();
+	}
+
+	// level size in pixels; balls that leave it are freed
+	public void setBounds(int levelWidth, int levelHeight) {
+		maxX = levelWidth;
+		maxY = levelHeight;
+	}
+
+	// fires a ball from a cannon at (cannonX, cannonY); dir is -1 for left, 1 for right
+	public boolean spawn(float cannonX, float cannonY, int dir) {
+		if (freeCount == 0) {
+			droppedCount++;
+			return false;
+		}
+		int xOffset = (int) (-3 * Game.SCALE);
+		int yOffset = (int) (5 * Game.SCALE);
+		if (dir == 1)
+			xOffset = (int) (29 * Game.SCALE);
+
+		int slot = freeSlots[--freeCount];
+		x[slot] = cannonX + xOffset;
+		y[slot] = cannonY + yOffset;
+		this.dir[slot] = (byte) dir;
+		active[slot] = true;
+		slotLimit = Math.max(slotLimit, slot + 1);
+		activeCount++;
+		highWaterMark = Math.max(highWaterMark, activeCount);
+		return true;
+	}
+
+	// moves every ball one tick and frees those now outside the level
+	public void updatePositions() {
+		for (int i = 0; i < slotLimit; i++)
+			if (active[i]) {
+				x[i] += dir[i] * SPEED;
+				if (x[i] + CANNON_BALL_WIDTH < 0 || x[i] > maxX || y[i] + CANNON_BALL_HEIGHT < 0 || y[i] > maxY)
+					free(i);
+			}
+	}
+
+	public void free(int slot) {
+		if (!active[slot])
+			return;
+		active[slot] = false;
+		freeSlots[freeCount++] = slot;
+		activeCount--;
+	}
+
+	public void clear() {
+		for (int i = 0; i < active.length; i++) {
+			active[i] = false;
+			// handed out from slot 0 upwards
+			freeSlots[i] = active.length - 1 - i;
+		}
+		freeCount = active.length;
+		slotLimit = 0;
+		activeCount = 0;
+	}
+
+	public int getSlotLimit() {
+		return slotLimit;
+	}
+
+	public boolean isActive(int slot) {
+		return active[slot];
+	}
+
+	public float getX(int slot) {
+		return x[slot];
+	}
+
+	public float getY(int slot) {
+		return y[slot];
+	}
+
+	public int getCapacity() {
+		return active.length;
+	}
+
+	public int getActiveCount() {
+		return activeCount;
+	}
+
+	// most balls in flight at once since the game started
+	public int getHighWaterMark() {
+		return highWaterMark;
+	}
+
+	// shots lost because the pool was full
+	public int getDroppedCount() {
+		return droppedCount;
+	}
+}
@@ -0,0 +1,82 @@
+package ui;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics;
+
+import gamestates.Playing;
+import mainn.VolatileCanvas;
+import objects.ProjectilePool;
+import utilz.Histogram;
+import utilz.InputLatency;
+import utilz.Metrics;
+import utilz.Viewport;
+
+// p50 / p99 / max of every frame metric over the last second, plus what is
+// alive in the level and the input latency of the run so far. the text is rebuilt once per metrics window, not per frame.
+// with the volatile backend it also counts lost backbuffer frames and background restores.
+public class MetricsOverlay {
+
+	private static final int X = 10;
+	// below the lives counter
+	private static final int Y = 90;
+	private static final int LINE_HEIGHT = 16;
+	private static final int WIDTH = 430;
+
+	private Playing playing;
+	private Font font = new Font(Font.MONOSPACED, Font.PLAIN, 13);
+	private Color background = new Color(0, 0, 0, 170);
+	private String[] lines = new String[0];
+	private int shownWindow = -1;
+
+	public MetricsOverlay(Playing playing) {
+		this.playing = playing;
+	}
+
+	public void draw(Graphics g) {
+		Metrics metrics = playing.getGame().getMetrics();
+		if (metrics.getWindowNumber() != shownWindow) {
+			shownWindow = metrics.getWindowNumber();
+			lines = buildLines(metrics);
+		}
+
+		g.setColor(background);
+		g.fillRect(X, Y, WIDTH, LINE_HEIGHT * lines.length + 8);
+		g.setFont(font);
+		g.setColor(Color.WHITE);
+		for (int i = 0; i < lines.length; i++)
+			g.drawString(lines[i], X + 6, Y + LINE_HEIGHT * (i + 1));
+	}
+
+	private String[] buildLines(Metrics metrics) {
+		VolatileCanvas volatileCanvas = playing.getGame().getGameSurface() instanceof VolatileCanvas v ? v : null;
+		String[] text = new String[Metrics.COUNT + (volatileCanvas != null ? 7 : 6)];
+		text[0] = String.format("%-13s %6s %8s %8s %8s", "ms", "count", "p50", "p99", "max");
+		for (int i = 0; i < Metrics.COUNT; i++) {
+			Histogram.Snapshot s = metrics.getWindow(i);
+			text[i + 1] = String.format("%-13s %6d %8.3f %8.3f %8.3f", Metrics.NAMES[i], s.getCount(), Millis(s.getValueAtPercentile(50)), Millis(s.getValueAtPercentile(99)),
+					Millis(s.getMax()));
+		}
+
+		int line = Metrics.COUNT + 1;
+		ProjectilePool projectiles = playing.getObjectManager().getProjectilePool();
+		Viewport viewport = playing.getViewport();
+		text[line++] = "enemies " + playing.getEnemyManager().getActiveEnemyCount() + "  dialogues " + playing.getDialogueCount() + "  rain " + playing.getRainDropCount();
+		text[line++] = "projectiles " + projectiles.getActiveCount() + "/" + projectiles.getCapacity() + "  high " + projectiles.getHighWaterMark() + "  dropped "
+				+ projectiles.getDroppedCount();
+		text[line++] = "sprites drawn " + viewport.getDrawnCount() + "  culled " + viewport.getCulledCount();
+		InputLatency latency = playing.getGame().getInputLatency();
+		Histogram.Snapshot toTick = latency.getToTick(), toPresent = latency.getToPresent();
+		text[line++] = String.format("input->tick p99 %.3f  input->present p50 %.3f p99 %.3f", Millis(toTick.getValueAtPercentile(99)), Millis(toPresent.getValueAtPercentile(50)),
+				Millis(toPresent.getValueAtPercentile(99)));
+		if (volatileCanvas != null)
+			text[line++] = "volatile lost frames " + volatileCanvas.getLostFrames() + "  background restores " + playing.getBackgroundRestoreCount();
+		text[line++] = "chunks resident " + playing.getLevelManager().getChunkCache().getResidentCount() + "  rendered " + playing.getLevelManager().getChunkCache().getChunksRendered()
+				+ "  (F3 hides)";
+		return text;
+	}
+
+	private static double Millis(long nanos) {
+		return nanos / 1_000_000.0;
+	}
+}
@@ -0,0 +1,75 @@
+package utilz;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+
+// a VolatileImage copy of an image that doesn't change, such as a full-screen
+// background, so drawing it is a copy inside video memory where the Java2D
+// pipeline can do that. the surface can be lost at any time (display change,
+// another app taking the device); it is revalidated before each draw, refilled
+// from the source when it was restored or recreated, and drawn again if it was
+// lost in the middle of the copy. when not accelerated, or headless where
+// there is no volatile surface, the source is drawn as is.
+public class AcceleratedImage {
+
+	private final BufferedImage source;
+	private final boolean accelerated;
+	private VolatileImage image;
+	private int restoreCount;
+
+	// the source is drawn 1:1, so it should already be at its draw size
+	public AcceleratedImage(BufferedImage source, boolean accelerated) {
+		this.source = source;
+		this.accelerated = accelerated && !GraphicsEnvironment.isHeadless();
+	}
+
+	public void draw(Graphics g, int x, int y) {
+		if (!accelerated) {
+			g.drawImage(source, x, y, null);
+			return;
+		}
+		GraphicsConfiguration gc = ((Graphics2D) g).getDeviceConfiguration();
+		do {
+			int status = image == null ? VolatileImage.IMAGE_INCOMPATIBLE : image.validate(gc);
+			if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+				if (image != null)
+					image.flush();
+				image = gc.createCompatibleVolatileImage(source.getWidth(), source.getHeight(), source.getTransparency());
+				status = VolatileImage.IMAGE_RESTORED;
+			}
+			if (status == VolatileImage.IMAGE_RESTORED)
+				restore();
+			g.drawImage(image, x, y, null);
+		} while (image.contentsLost());
+	}
+
+	private void restore() {
+		Graphics2D g = image.createGraphics();
+		try {
+			// translucent surfaces come back with undefined pixels, not cleared ones
+			g.setComposite(AlphaComposite.Src);
+			g.drawImage(source, 0, 0, null);
+		} finally {
+			g.dispose();
+		}
+		restoreCount++;
+	}
+
+	public int getWidth() {
+		return source.getWidth();
+	}
+
+	public int getHeight() {
+		return source.getHeight();
+	}
+
+	// times the contents had to be filled in, the first time included
+	public int getRestoreCount() {
+		return restoreCount;
+	}
+}
@@ -10,6 +10,7 @@ public class Constants {
 	public static class Dialogue {
 		public static final int QUESTION = 0;
 		public static final int EXCLAMATION = 1;
+		public static final int DIALOGUE_TYPES = 2;
 
 		public static final int DIALOGUE_WIDTH = (int) (14 * Game.SCALE);
 		public static final int DIALOGUE_HEIGHT = (int) (12 * Game.SCALE);
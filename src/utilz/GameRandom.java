@@ -0,0 +1,39 @@
+package utilz;
+
+import java.util.Random;
+
+// every random source in the game is derived from one seed, so a run can be
+// reproduced by setting the same seed before the Game is built
+public class GameRandom {
+
+	public static final long PLAYING = 1;
+	public static final long RAIN = 2;
+
+	private static long seed = System.nanoTime();
+
+	public static void SetSeed(long newSeed) {
+		seed = newSeed;
+	}
+
+	public static long GetSeed() {
+		return seed;
+	}
+
+	// an independent generator for one named stream
+	public static Random Create(long stream) {
+		return new Random(Mix(seed + Mix(stream)));
+	}
+
+	// a generator that depends only on the seed and a level position, so it does
+	// not matter in which order (or on which thread) level objects get built
+	public static Random ForPosition(int x, int y) {
+		return Create(((long) x << 32) ^ (y & 0xFFFFFFFFL) ^ 0x5DEECE66DL);
+	}
+
+	// splitmix64 finalizer
+	private static long Mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
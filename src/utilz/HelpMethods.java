@@ -2,12 +2,15 @@ package utilz;
 
 import java.awt.geom.Rectangle2D;
 
+import levels.CollisionGrid;
 import mainn.Game;
-import objects.Projectile;
+
+import static utilz.Constants.Projectiles.CANNON_BALL_HEIGHT;
+import static utilz.Constants.Projectiles.CANNON_BALL_WIDTH;
 
 public class HelpMethods {
 
-	public static boolean CanMoveHere(float x, float y, float width, float height, int[][] lvlData) {
+	public static boolean CanMoveHere(float x, float y, float width, float height, CollisionGrid lvlData) {
 		if (!IsSolid(x, y, lvlData))
 			if (!IsSolid(x + width, y + height, lvlData))
 				if (!IsSolid(x + width, y, lvlData))
@@ -16,45 +19,28 @@ public class HelpMethods {
 		return false;
 	}
 
-	private static boolean IsSolid(float x, float y, int[][] lvlData) {
-		int maxWidth = lvlData[0].length * Game.TILES_SIZE;
-		if (x < 0 || x >= maxWidth)
-			return true;
-		if (y < 0 || y >= Game.GAME_HEIGHT)
-			return true;
-		float xIndex = x / Game.TILES_SIZE;
-		float yIndex = y / Game.TILES_SIZE;
+	public static boolean IsSolid(float x, float y, CollisionGrid lvlData) {
+		return lvlData.isSolidAt(x, y);
+	}
 
-		return IsTileSolid((int) xIndex, (int) yIndex, lvlData);
+	// (x, y) is the top left of a cannon ball; it hits where its centre is
+	public static boolean IsProjectileHittingLevel(float x, float y, CollisionGrid lvlData) {
+		return IsSolid(x + CANNON_BALL_WIDTH / 2f, y + CANNON_BALL_HEIGHT / 2f, lvlData);
 	}
 
-	public static boolean IsProjectileHittingLevel(Projectile p, int[][] lvlData) {
-		return IsSolid(p.getHitbox().x + p.getHitbox().width / 2, p.getHitbox().y + p.getHitbox().height / 2, lvlData);
+	public static boolean IsEntityInWater(Rectangle2D.Float hitbox, CollisionGrid lvlData) {
+		return IsEntityInWater(hitbox.x, hitbox.y, hitbox.width, hitbox.height, lvlData);
 	}
 
-	public static boolean IsEntityInWater(Rectangle2D.Float hitbox, int[][] lvlData) {
-		if (GetTileValue(hitbox.x, hitbox.y + hitbox.height, lvlData) != 48)
-			if (GetTileValue(hitbox.x + hitbox.width, hitbox.y + hitbox.height, lvlData) != 48)
+	public static boolean IsEntityInWater(float x, float y, float width, float height, CollisionGrid lvlData) {
+		if (!lvlData.isWaterAt(x, y + height))
+			if (!lvlData.isWaterAt(x + width, y + height))
 				return false;
 		return true;
 	}
 
-	private static int GetTileValue(float xPos, float yPos, int[][] lvlData) {
-		int xCord = (int) (xPos / Game.TILES_SIZE);
-		int yCord = (int) (yPos / Game.TILES_SIZE);
-		return lvlData[yCord][xCord];
-	}
-
-	public static boolean IsTileSolid(int xTile, int yTile, int[][] lvlData) {
-		int value = lvlData[yTile][xTile];
-
-		switch (value) {
-		case 11, 48, 49:
-			return false;
-		default:
-			return true;
-		}
-
+	public static boolean IsTileSolid(int xTile, int yTile, CollisionGrid lvlData) {
+		return lvlData.isSolidTile(xTile, yTile);
 	}
 
 	   public static float GetEntityXPosNextToWall(Rectangle2D.Float hitbox, float xSpeed) {
@@ -70,39 +56,55 @@ public class HelpMethods {
     }
 
 	   public static float GetEntityYPosUnderRoofOrAboveFloor(Rectangle2D.Float hitbox, float airSpeed) {
+        return GetEntityYPosUnderRoofOrAboveFloor(hitbox.y, hitbox.height, airSpeed);
+    }
+
+	   public static float GetEntityYPosUnderRoofOrAboveFloor(float y, float height, float airSpeed) {
         int wallTileY;
 
         if (airSpeed > 0) {
-            wallTileY = (int) ((hitbox.y + hitbox.height + airSpeed) / Game.TILES_SIZE);
-            return wallTileY * Game.TILES_SIZE - hitbox.height - 1;
+            wallTileY = (int) ((y + height + airSpeed) / Game.TILES_SIZE);
+            return wallTileY * Game.TILES_SIZE - height - 1;
         } else {
-            wallTileY = (int) ((hitbox.y + airSpeed) / Game.TILES_SIZE);
+            wallTileY = (int) ((y + airSpeed) / Game.TILES_SIZE);
             return (wallTileY + 1) * Game.TILES_SIZE + 1; 
         }
     }
 
-	public static boolean IsEntityOnFloor(Rectangle2D.Float hitbox, int[][] lvlData) {
-		if (!IsSolid(hitbox.x, hitbox.y + hitbox.height + 1, lvlData))
-			if (!IsSolid(hitbox.x + hitbox.width, hitbox.y + hitbox.height + 1, lvlData))
+	public static boolean IsEntityOnFloor(Rectangle2D.Float hitbox, CollisionGrid lvlData) {
+		return IsEntityOnFloor(hitbox.x, hitbox.y, hitbox.width, hitbox.height, lvlData);
+	}
+
+	public static boolean IsEntityOnFloor(float x, float y, float width, float height, CollisionGrid lvlData) {
+		if (!IsSolid(x, y + height + 1, lvlData))
+			if (!IsSolid(x + width, y + height + 1, lvlData))
 				return false;
 		return true;
 	}
 
-	public static boolean IsFloor(Rectangle2D.Float hitbox, float xSpeed, int[][] lvlData) {
+	public static boolean IsFloor(Rectangle2D.Float hitbox, float xSpeed, CollisionGrid lvlData) {
+		return IsFloor(hitbox.x, hitbox.y, hitbox.width, hitbox.height, xSpeed, lvlData);
+	}
+
+	public static boolean IsFloor(float x, float y, float width, float height, float xSpeed, CollisionGrid lvlData) {
 		if (xSpeed > 0)
-			return IsSolid(hitbox.x + hitbox.width + xSpeed, hitbox.y + hitbox.height + 1, lvlData);
+			return IsSolid(x + width + xSpeed, y + height + 1, lvlData);
 		else
-			return IsSolid(hitbox.x + xSpeed, hitbox.y + hitbox.height + 1, lvlData);
+			return IsSolid(x + xSpeed, y + height + 1, lvlData);
+	}
+
+	public static boolean IsFloor(Rectangle2D.Float hitbox, CollisionGrid lvlData) {
+		return IsFloor(hitbox.x, hitbox.y, hitbox.width, hitbox.height, lvlData);
 	}
 
-	public static boolean IsFloor(Rectangle2D.Float hitbox, int[][] lvlData) {
-		if (!IsSolid(hitbox.x + hitbox.width, hitbox.y + hitbox.height + 1, lvlData))
-			if (!IsSolid(hitbox.x, hitbox.y + hitbox.height + 1, lvlData))
+	public static boolean IsFloor(float x, float y, float width, float height, CollisionGrid lvlData) {
+		if (!IsSolid(x + width, y + height + 1, lvlData))
+			if (!IsSolid(x, y + height + 1, lvlData))
 				return false;
 		return true;
 	}
 
-	public static boolean CanCannonSeePlayer(int[][] lvlData, Rectangle2D.Float firstHitbox, Rectangle2D.Float secondHitbox, int yTile) {
+	public static boolean CanCannonSeePlayer(CollisionGrid lvlData, Rectangle2D.Float firstHitbox, Rectangle2D.Float secondHitbox, int yTile) {
 		int firstXTile = (int) (firstHitbox.x / Game.TILES_SIZE);
 		int secondXTile = (int) (secondHitbox.x / Game.TILES_SIZE);
 
@@ -112,25 +114,23 @@ public class HelpMethods {
 			return IsAllTilesClear(firstXTile, secondXTile, yTile, lvlData);
 	}
 
-	public static boolean IsAllTilesClear(int xStart, int xEnd, int y, int[][] lvlData) {
-		for (int i = 0; i < xEnd - xStart; i++)
-			if (IsTileSolid(xStart + i, y, lvlData))
-				return false;
-		return true;
+	public static boolean IsAllTilesClear(int xStart, int xEnd, int y, CollisionGrid lvlData) {
+		return !lvlData.anySolid(xStart, xEnd, y);
 	}
 
-	public static boolean IsAllTilesWalkable(int xStart, int xEnd, int y, int[][] lvlData) {
+	public static boolean IsAllTilesWalkable(int xStart, int xEnd, int y, CollisionGrid lvlData) {
 		if (IsAllTilesClear(xStart, xEnd, y, lvlData))
-			for (int i = 0; i < xEnd - xStart; i++) {
-				if (!IsTileSolid(xStart + i, y + 1, lvlData))
-					return false;
-			}
+			return lvlData.allSolid(xStart, xEnd, y + 1);
 		return true;
 	}
 
 
-	public static boolean IsSightClear(int[][] lvlData, Rectangle2D.Float enemyBox, Rectangle2D.Float playerBox, int yTile) {
-		int firstXTile = (int) (enemyBox.x / Game.TILES_SIZE);
+	public static boolean IsSightClear(CollisionGrid lvlData, Rectangle2D.Float enemyBox, Rectangle2D.Float playerBox, int yTile) {
+		return IsSightClear(lvlData, enemyBox.x, playerBox, yTile);
+	}
+
+	public static boolean IsSightClear(CollisionGrid lvlData, float enemyX, Rectangle2D.Float playerBox, int yTile) {
+		int firstXTile = (int) (enemyX / Game.TILES_SIZE);
 
 		int secondXTile;
 		if (IsSolid(playerBox.x, playerBox.y + playerBox.height + 1, lvlData))
@@ -144,7 +144,7 @@ public class HelpMethods {
 			return IsAllTilesWalkable(firstXTile, secondXTile, yTile, lvlData);
 	}
 
-	public static boolean IsSightClear_OLD(int[][] lvlData, Rectangle2D.Float firstHitbox, Rectangle2D.Float secondHitbox, int yTile) {
+	public static boolean IsSightClear_OLD(CollisionGrid lvlData, Rectangle2D.Float firstHitbox, Rectangle2D.Float secondHitbox, int yTile) {
 		int firstXTile = (int) (firstHitbox.x / Game.TILES_SIZE);
 		int secondXTile = (int) (secondHitbox.x / Game.TILES_SIZE);
 
@@ -0,0 +1,97 @@
+package utilz;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// HDR-style histogram of nanosecond durations: values below 128 get a bucket
+// each, above that every power of two is split into 64 linear buckets, so
+// any recorded value is known to within about 1.5%. recording is a single
+// atomic increment and can happen from any thread.
+public class Histogram {
+
+	private static final int SUB_BUCKET_BITS = 7;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+	// values are clamped to about 18 minutes
+	private static final int MAX_MAGNITUDE = 40;
+	private static final long MAX_VALUE = (1L << MAX_MAGNITUDE) - 1;
+	private static final int BUCKETS = SUB_BUCKETS + (MAX_MAGNITUDE - SUB_BUCKET_BITS + 1) * HALF_SUB_BUCKETS;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+	private final AtomicLong max = new AtomicLong();
+
+	public void record(long nanos) {
+		long value = Math.max(0, Math.min(nanos, MAX_VALUE));
+		counts.incrementAndGet(BucketOf(value));
+		long current = max.get();
+		while (value > current && !max.compareAndSet(current, value))
+			current = max.get();
+	}
+
+	private static int BucketOf(long value) {
+		if (value < SUB_BUCKETS)
+			return (int) value;
+		int magnitude = 63 - Long.numberOfLeadingZeros(value);
+		int shift = magnitude - SUB_BUCKET_BITS + 1;
+		int top = (int) (value >>> shift);
+		return SUB_BUCKETS + (shift - 1) * HALF_SUB_BUCKETS + (top - HALF_SUB_BUCKETS);
+	}
+
+	// largest value that lands in the bucket
+	private static long HighestValueIn(int bucket) {
+		if (bucket < SUB_BUCKETS)
+			return bucket;
+		int k = bucket - SUB_BUCKETS;
+		int shift = k / HALF_SUB_BUCKETS + 1;
+		long top = HALF_SUB_BUCKETS + k % HALF_SUB_BUCKETS;
+		return ((top + 1) << shift) - 1;
+	}
+
+	// copies the counts out, emptying this histogram when reset is set; values
+	// recorded meanwhile land in either the snapshot or the next one, never neither
+	public Snapshot takeSnapshot(boolean reset) {
+		long[] copy = new long[BUCKETS];
+		long total = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			copy[i] = reset ? counts.getAndSet(i, 0) : counts.get(i);
+			total += copy[i];
+		}
+		long maxValue = reset ? max.getAndSet(0) : max.get();
+		return new Snapshot(copy, total, maxValue);
+	}
+
+	public static class Snapshot {
+
+		private final long[] counts;
+		private final long total;
+		private final long max;
+
+		private Snapshot(long[] counts, long total, long max) {
+			this.counts = counts;
+			this.total = total;
+			this.max = max;
+		}
+
+		// smallest recorded value that at least this percent of values are at or below
+		public long getValueAtPercentile(double percentile) {
+			if (total == 0)
+				return 0;
+			long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+			long seen = 0;
+			for (int i = 0; i < counts.length; i++) {
+				seen += counts[i];
+				if (seen >= rank)
+					return Math.min(HighestValueIn(i), max);
+			}
+			return max;
+		}
+
+		public long getCount() {
+			return total;
+		}
+
+		public long getMax() {
+			return max;
+		}
+	}
+}
@@ -0,0 +1,102 @@
+package utilz;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+// how long a key or button press takes to reach the screen. each press keeps
+// the System.nanoTime() it arrived at (the InputQueue stamp) while it is
+// consumed by a tick, drawn into a frame and finally presented:
+//   consumed(stamp)  game thread, as the tick dispatches the press
+//   rendered(frame)  game thread, once the frame showing that tick is drawn
+//   presented(frame) whichever thread puts the frame on screen
+// both legs go into histograms covering the whole run, which can be written
+// to a file on exit.
+public class InputLatency {
+
+	private static final int CAPACITY = 256;
+	private static final long UNRENDERED = -1;
+	private static final double[] PERCENTILES = { 50, 90, 99, 99.9 };
+
+	private final Histogram toTick = new Histogram();
+	private final Histogram toPresent = new Histogram();
+
+	// presses waiting for their frame, oldest first: arrival stamp and the frame they were drawn in
+	private final long[] stamps = new long[CAPACITY];
+	private final long[] frames = new long[CAPACITY];
+	private int head, count;
+	private long droppedCount;
+
+	public synchronized void consumed(long arrivalNanos) {
+		toTick.record(System.nanoTime() - arrivalNanos);
+		if (count == CAPACITY) {
+			// nothing is being presented; forget the oldest
+			head = (head + 1) % CAPACITY;
+			count--;
+			droppedCount++;
+		}
+		int i = (head + count) % CAPACITY;
+		stamps[i] = arrivalNanos;
+		frames[i] = UNRENDERED;
+		count++;
+	}
+
+	// every press consumed so far is in this frame
+	public synchronized void rendered(long frame) {
+		for (int n = count - 1; n >= 0; n--) {
+			int i = (head + n) % CAPACITY;
+			if (frames[i] != UNRENDERED)
+				break;
+			frames[i] = frame;
+		}
+	}
+
+	// this frame, and so every one before it, is on screen
+	public synchronized void presented(long frame) {
+		long now = System.nanoTime();
+		while (count > 0 && frames[head] != UNRENDERED && frames[head] <= frame) {
+			toPresent.record(now - stamps[head]);
+			head = (head + 1) % CAPACITY;
+			count--;
+		}
+	}
+
+	public Histogram.Snapshot getToTick() {
+		return toTick.takeSnapshot(false);
+	}
+
+	public Histogram.Snapshot getToPresent() {
+		return toPresent.takeSnapshot(false);
+	}
+
+	public void writeReport(Path file) throws IOException {
+		Path parent = file.toAbsolutePath().getParent();
+		if (parent != null)
+			Files.createDirectories(parent);
+		try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+			out.println("# input latency, session ending " + LocalDateTime.now());
+			out.print("leg,count");
+			for (double p : PERCENTILES)
+				out.print(",p" + (p == (long) p ? String.valueOf((long) p) : String.valueOf(p)) + "_ms");
+			out.println(",max_ms");
+			writeRow(out, "input_to_tick", getToTick());
+			writeRow(out, "input_to_present", getToPresent());
+			synchronized (this) {
+				out.println("# presses never presented: " + (count + droppedCount));
+			}
+		}
+	}
+
+	private static void writeRow(PrintWriter out, String name, Histogram.Snapshot s) {
+		out.print(name + "," + s.getCount());
+		for (double p : PERCENTILES)
+			out.print("," + Millis(s.getValueAtPercentile(p)));
+		out.println("," + Millis(s.getMax()));
+	}
+
+	private static String Millis(long nanos) {
+		return String.format("%.3f", nanos / 1_000_000.0);
+	}
+}
@@ -0,0 +1,201 @@
+package utilz;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import utilz.LeaderboardStore.Entry;
+
+// ranking behind the leaderboard: an order-statistic treap keyed on
+// (time, submit order), so adding a score, looking up a user's rank and
+// reading the top k are O(log n), plus k for the last, however many rows the
+// file has. the sort key is worked out once per entry, with dnfs after every
+// finished time. with bestPerUser only each user's fastest run is ranked.
+// not thread safe; LeaderboardStore guards it.
+public class LeaderboardIndex {
+
+	private static class Node {
+		final Entry entry;
+		final long key;
+		final long seq;
+		final int priority;
+		Node left, right;
+		int size = 1;
+
+		Node(Entry entry, long key, long seq, int priority) {
+			this.entry = entry;
+			this.key = key;
+			this.seq = seq;
+			this.priority = priority;
+		}
+	}
+
+	private final boolean bestPerUser;
+	// each user's fastest run, by lower-cased username
+	private final HashMap<String, Node> best = new HashMap<>();
+	private Node root;
+	private long nextSeq;
+	// xorshift state for node priorities; kept apart from GameRandom so replays don't depend on scores
+	private int priorityState = 0x2545F491;
+
+	public LeaderboardIndex(boolean bestPerUser) {
+		this.bestPerUser = bestPerUser;
+	}
+
+	public void add(Entry entry) {
+		String user = Key(entry.getUsername());
+		Node node = new Node(entry, SortKey(entry.getTimeMillis()), nextSeq++, nextPriority());
+		Node previous = best.get(user);
+		boolean isBest = previous == null || Less(node, previous);
+		if (bestPerUser) {
+			if (!isBest)
+				return;
+			if (previous != null)
+				root = Remove(root, previous);
+		}
+		root = Insert(root, node);
+		if (isBest)
+			best.put(user, node);
+	}
+
+	// the best k entries, fastest first
+	public List<Entry> getTop(int k) {
+		ArrayList<Entry> top = new ArrayList<>(Math.min(k, size()));
+		ArrayDeque<Node> stack = new ArrayDeque<>();
+		Node t = root;
+		while (top.size() < k && (t != null || !stack.isEmpty())) {
+			while (t != null) {
+				stack.push(t);
+				t = t.left;
+			}
+			t = stack.pop();
+			top.add(t.entry);
+			t = t.right;
+		}
+		return top;
+	}
+
+	// 1-based rank of the user's best run, or 0 if they have none
+	public int getRank(String username) {
+		Node n = best.get(Key(username));
+		if (n == null)
+			return 0;
+		int rank = 0;
+		Node t = root;
+		while (t != n) {
+			if (Less(n, t)) {
+				t = t.left;
+			} else {
+				rank += Size(t.left) + 1;
+				t = t.right;
+			}
+		}
+		return rank + Size(t.left) + 1;
+	}
+
+	// ranked entries: one per user with bestPerUser, otherwise every run
+	public int size() {
+		return Size(root);
+	}
+
+	public int getUserCount() {
+		return best.size();
+	}
+
+	public void clear() {
+		root = null;
+		best.clear();
+	}
+
+	private int nextPriority() {
+		int x = priorityState;
+		x ^= x << 13;
+		x ^= x >>> 17;
+		x ^= x << 5;
+		priorityState = x;
+		return x;
+	}
+
+	private static long SortKey(long timeMillis) {
+		return timeMillis == 0 ? Long.MAX_VALUE : timeMillis;
+	}
+
+	private static String Key(String username) {
+		return username.trim().toLowerCase();
+	}
+
+	private static boolean Less(Node a, Node b) {
+		return a.key < b.key || (a.key == b.key && a.seq < b.seq);
+	}
+
+	private static int Size(Node t) {
+		return t == null ? 0 : t.size;
+	}
+
+	private static void Resize(Node t) {
+		t.size = Size(t.left) + Size(t.right) + 1;
+	}
+
+	private static Node Insert(Node t, Node n) {
+		if (t == null)
+			return n;
+		if (Less(n, t)) {
+			t.left = Insert(t.left, n);
+			Resize(t);
+			if (t.left.priority > t.priority)
+				t = RotateRight(t);
+		} else {
+			t.right = Insert(t.right, n);
+			Resize(t);
+			if (t.right.priority > t.priority)
+				t = RotateLeft(t);
+		}
+		return t;
+	}
+
+	private static Node Remove(Node t, Node n) {
+		if (t == n)
+			return Merge(t.left, t.right);
+		if (Less(n, t))
+			t.left = Remove(t.left, n);
+		else
+			t.right = Remove(t.right, n);
+		Resize(t);
+		return t;
+	}
+
+	// every node of a ranks before every node of b
+	private static Node Merge(Node a, Node b) {
+		if (a == null)
+			return b;
+		if (b == null)
+			return a;
+		if (a.priority > b.priority) {
+			a.right = Merge(a.right, b);
+			Resize(a);
+			return a;
+		}
+		b.left = Merge(a, b.left);
+		Resize(b);
+		return b;
+	}
+
+	private static Node RotateRight(Node t) {
+		Node l = t.left;
+		t.left = l.right;
+		Resize(t);
+		l.right = t;
+		Resize(l);
+		return l;
+	}
+
+	private static Node RotateLeft(Node t) {
+		Node r = t.right;
+		t.right = r.left;
+		Resize(t);
+		r.left = t;
+		Resize(r);
+		return r;
+	}
+}
@@ -0,0 +1,233 @@
+package utilz;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+// the scores in user_scores.csv, kept in memory so neither submitting a score
+// nor opening the leaderboard touches the disk on the game thread. the file is
+// read once by a background writer thread, which then appends every submitted
+// score: whatever is queued by the time it wakes up goes out as one write and
+// one sync. reads come from the in-memory LeaderboardIndex, which submits
+// update at once. unless -Djump.leaderboard.allRuns is set, only each user's
+// best time is ranked.
+public class LeaderboardStore {
+
+	public static final String CSV_FILE_NAME = "user_scores.csv";
+	private static final String CSV_HEADER = "Username,TimeMillis\n";
+	// most rows written between two syncs
+	private static final int MAX_BATCH = 256;
+	private static final long CLOSE_TIMEOUT_MILLIS = 2000;
+
+	public static class Entry {
+
+		private final String username;
+		private final long timeMillis;
+
+		public Entry(String username, long timeMillis) {
+			this.username = username;
+			this.timeMillis = timeMillis;
+		}
+
+		public String getUsername() {
+			return username;
+		}
+
+		// 0 for a run that didn't finish
+		public long getTimeMillis() {
+			return timeMillis;
+		}
+
+		public boolean isDnf() {
+			return timeMillis == 0;
+		}
+	}
+
+	// queued after the last row when closing
+	private static final Entry STOP = new Entry("", 0);
+
+	private final File csvFile;
+	private final BlockingQueue<Entry> pending = new LinkedBlockingQueue<>();
+	private final Thread writer;
+	private volatile boolean closed;
+	private FileChannel channel;
+
+	private final LeaderboardIndex index = new LeaderboardIndex(!Boolean.getBoolean("jump.leaderboard.allRuns"));
+	// submitted before the file was read in, ranked after its rows once it is
+	private ArrayList<Entry> early = new ArrayList<>();
+	private volatile int version;
+
+	public LeaderboardStore() {
+		this(new File(CSV_FILE_NAME));
+	}
+
+	public LeaderboardStore(File csvFile) {
+		this.csvFile = csvFile;
+		writer = new Thread(this::run, "leaderboard-writer");
+		writer.setDaemon(true);
+		writer.start();
+		Runtime.getRuntime().addShutdownHook(new Thread(this::close));
+	}
+
+	// adds a score to the index and queues it for the file; false once closed
+	public boolean submit(String username, long timeMillis) {
+		if (closed)
+			return false;
+		Entry entry = new Entry(username, timeMillis);
+		insert(entry);
+		return pending.offer(entry);
+	}
+
+	// the best k entries
+	public synchronized List<Entry> getTop(int k) {
+		return index.getTop(k);
+	}
+
+	// 1-based rank of the user's best time, or 0 if they have none
+	public synchronized int getRank(String username) {
+		return index.getRank(username);
+	}
+
+	public synchronized int size() {
+		return index.size();
+	}
+
+	// changes whenever the index does, so readers can cache what they got from it
+	public int getVersion() {
+		return version;
+	}
+
+	// writes out everything submitted so far and stops the writer
+	public void close() {
+		if (closed)
+			return;
+		closed = true;
+		pending.offer(STOP);
+		try {
+			writer.join(CLOSE_TIMEOUT_MILLIS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private synchronized void insert(Entry entry) {
+		if (early != null)
+			early.add(entry);
+		index.add(entry);
+		version++;
+	}
+
+	// writer thread
+	private void run() {
+		load();
+		ArrayList<Entry> batch = new ArrayList<>();
+		while (true) {
+			try {
+				batch.add(pending.take());
+			} catch (InterruptedException e) {
+				break;
+			}
+			pending.drainTo(batch, MAX_BATCH - 1);
+			int stop = batch.indexOf(STOP);
+			if (stop >= 0) {
+				append(batch.subList(0, stop));
+				break;
+			}
+			append(batch);
+			batch.clear();
+		}
+		closeChannel();
+	}
+
+	private void load() {
+		if (!csvFile.exists()) {
+			System.out.println("leaderboard: csv file not found: " + csvFile);
+			synchronized (this) {
+				early = null;
+			}
+			return;
+		}
+
+		ArrayList<Entry> entries = new ArrayList<>();
+		try (BufferedReader br = new BufferedReader(new FileReader(csvFile))) {
+			String line;
+			br.readLine();
+
+			while ((line = br.readLine()) != null) {
+				String[] parts = line.split(",");
+				if (parts.length == 2) {
+					try {
+						String username = parts[0].trim();
+						String timeString = parts[1].trim();
+
+						if (timeString.startsWith("\"") && timeString.endsWith("\"") && timeString.length() > 1)
+							timeString = timeString.substring(1, timeString.length() - 1);
+
+						entries.add(new Entry(username, Long.parseLong(timeString)));
+					} catch (NumberFormatException e) {
+						System.err.println("leaderboard: skipping malformed line (invalid time format): " + line);
+					}
+				} else {
+					System.err.println("leaderboard: skipping malformed line (incorrect parts count): " + line);
+				}
+			}
+		} catch (IOException e) {
+			System.err.println("leaderboard: error reading csv file: " + e.getMessage());
+			e.printStackTrace();
+		}
+
+		// scores submitted while loading are newer than anything in the file
+		synchronized (this) {
+			index.clear();
+			for (Entry e : entries)
+				index.add(e);
+			for (Entry e : early)
+				index.add(e);
+			early = null;
+			version++;
+		}
+	}
+
+	private void append(List<Entry> batch) {
+		if (batch.isEmpty())
+			return;
+		StringBuilder sb = new StringBuilder();
+		for (Entry e : batch)
+			sb.append(e.username).append(',').append(e.timeMillis).append('\n');
+		try {
+			if (channel == null) {
+				channel = new FileOutputStream(csvFile, true).getChannel();
+				if (channel.size() == 0)
+					sb.insert(0, CSV_HEADER);
+			}
+			ByteBuffer bytes = ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.UTF_8));
+			while (bytes.hasRemaining())
+				channel.write(bytes);
+			channel.force(false);
+		} catch (IOException e) {
+			System.err.println("error writing to csv file: " + e.getMessage());
+			e.printStackTrace();
+			closeChannel();
+		}
+	}
+
+	private void closeChannel() {
+		if (channel == null)
+			return;
+		try {
+			channel.close();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+		channel = null;
+	}
+}
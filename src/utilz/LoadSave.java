@@ -3,13 +3,15 @@ package utilz;
 import entities.PlayerCharacter;
 import java.awt.Font;
 import java.awt.FontFormatException;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URISyntaxException;
 import java.net.URL;
-import java.util.ArrayList;
 import javax.imageio.ImageIO;
 
 import mainn.Game;
@@ -78,6 +80,7 @@ public class LoadSave {
     // Fonts
     public static final String CUSTOM_FONT_JERSEY = "/fonts/Jersey15-Regular.ttf";
     public static final String CUSTOM_FONT_ARCADE_CLASSIC = "/fonts/arcadeclassic.ttf";
+    public static final String CUSTOM_FONT_DOGICA = "/fonts/dogicapixel.ttf";
 
     public static BufferedImage[][] loadAnimations(PlayerCharacter pc) {
         int numPlayerActions = DEAD + 1;
@@ -146,6 +149,18 @@ public class LoadSave {
         return img;
     }
 
+    // image in the screen's native pixel layout, so blitting it needs no conversion
+    public static BufferedImage CreateCompatibleImage(int width, int height) {
+        return CreateCompatibleImage(width, height, Transparency.TRANSLUCENT);
+    }
+
+    public static BufferedImage CreateCompatibleImage(int width, int height, int transparency) {
+        if (GraphicsEnvironment.isHeadless())
+            return new BufferedImage(width, height, transparency == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+        return gc.createCompatibleImage(width, height, transparency);
+    }
+
     public static BufferedImage[] GetHeartAnimationSprites() {
         BufferedImage heartSheet = GetSpriteAtlas(HEART_SPRITE_SHEET);
         BufferedImage[] heartFrames = new BufferedImage[HEART_SPRITE_FRAMES];
@@ -192,42 +207,40 @@ public class LoadSave {
         }
     }
 
-    public static BufferedImage[] GetAllLevels() {
-        ArrayList<BufferedImage> levelImages = new ArrayList<>();
-        int levelNum = 1;
-        while (true) {
-            String levelFileName = LEVEL_PATH_PREFIX + levelNum + ".png";
-            InputStream is = LoadSave.class.getResourceAsStream(levelFileName);
+    // number of consecutive level files lvls/1.png, lvls/2.png, ... present, without decoding any
+    public static int GetLevelCount() {
+        int count = 0;
+        while (LoadSave.class.getResource(LEVEL_PATH_PREFIX + (count + 1) + ".png") != null)
+            count++;
+        if (count == 0)
+            System.err.println("Could not find any level files. Checked path: " + LEVEL_PATH_PREFIX + "1.png");
+        return count;
+    }
 
-            if (is == null) {
-                if (levelNum == 1 && levelImages.isEmpty()) {
-                    System.err.println("Could not find any level files. Checked path: " + levelFileName);
-                }
-                break;
-            }
+    // decodes one level image, numbered from 1; null if it can't be read
+    public static BufferedImage GetLevelImage(int levelNum) {
+        String levelFileName = LEVEL_PATH_PREFIX + levelNum + ".png";
+        InputStream is = LoadSave.class.getResourceAsStream(levelFileName);
+        if (is == null) {
+            System.err.println("Could not find level file: " + levelFileName);
+            return null;
+        }
 
+        try {
+            BufferedImage img = ImageIO.read(is);
+            if (img == null)
+                System.err.println("Failed to read image from stream for level: " + levelFileName);
+            return img;
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.err.println("Error loading level image: " + levelFileName);
+            return null;
+        } finally {
             try {
-                BufferedImage img = ImageIO.read(is);
-                if (img != null) {
-                    levelImages.add(img);
-                } else {
-                    System.err.println("Failed to read image from stream for level: " + levelFileName);
-                }
+                is.close();
             } catch (IOException e) {
                 e.printStackTrace();
-                System.err.println("Error loading level image: " + levelFileName);
-                break;
-            } finally {
-                try {
-                    if (is != null) {
-                        is.close();
-                    }
-                } catch (IOException e) {
-                    e.printStackTrace();
-                }
             }
-            levelNum++;
         }
-        return levelImages.toArray(new BufferedImage[0]);
     }
 }
\ No newline at end of file
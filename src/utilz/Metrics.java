@@ -0,0 +1,98 @@
+package utilz;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+// frame timings for the game: whole updates and renders, each manager's share
+// of them, and GC pauses, recorded into Histograms. the histograms are drained
+// into a snapshot once per window, so the numbers shown are the tail of the
+// last second rather than a running average.
+public class Metrics {
+
+	public static final int UPDATE = 0;
+	public static final int RENDER = 1;
+	public static final int GC_PAUSE = 2;
+	public static final int LEVEL_UPDATE = 3;
+	public static final int LEVEL_DRAW = 4;
+	public static final int OBJECTS_UPDATE = 5;
+	public static final int OBJECTS_DRAW = 6;
+	public static final int ENEMIES_UPDATE = 7;
+	public static final int ENEMIES_DRAW = 8;
+	public static final int PLAYER_UPDATE = 9;
+	public static final int PLAYER_DRAW = 10;
+	public static final int COUNT = 11;
+
+	public static final String[] NAMES = { "update", "render", "gc pause", "level upd", "level draw", "objects upd", "objects draw", "enemies upd", "enemies draw", "player upd",
+			"player draw" };
+
+	private static final long WINDOW_NANOS = 1_000_000_000L;
+
+	private final Histogram[] histograms = new Histogram[COUNT];
+	private volatile Histogram.Snapshot[] window = new Histogram.Snapshot[COUNT];
+	private volatile int windowNumber;
+	private long windowStart = System.nanoTime();
+
+	public Metrics() {
+		for (int i = 0; i < COUNT; i++) {
+			histograms[i] = new Histogram();
+			window[i] = histograms[i].takeSnapshot(false);
+		}
+	}
+
+	public void record(int metric, long nanos) {
+		histograms[metric].record(nanos);
+	}
+
+	// records the time since start and returns now, so consecutive sections chain:
+	// t = lap(A, t); ... t = lap(B, t);
+	public long lap(int metric, long start) {
+		long now = System.nanoTime();
+		histograms[metric].record(now - start);
+		return now;
+	}
+
+	// called from the game loop; closes the window once it is a second old
+	public void rollWindow() {
+		long now = System.nanoTime();
+		if (now - windowStart < WINDOW_NANOS)
+			return;
+		windowStart = now;
+		Histogram.Snapshot[] next = new Histogram.Snapshot[COUNT];
+		for (int i = 0; i < COUNT; i++)
+			next[i] = histograms[i].takeSnapshot(true);
+		window = next;
+		windowNumber++;
+	}
+
+	// the last completed window for a metric
+	public Histogram.Snapshot getWindow(int metric) {
+		return window[metric];
+	}
+
+	// changes whenever a new window is completed
+	public int getWindowNumber() {
+		return windowNumber;
+	}
+
+	// records the duration of every collection the JVM reports
+	public void installGcListener() {
+		for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+			if (!(gc instanceof NotificationEmitter emitter))
+				continue;
+			emitter.addNotificationListener((notification, handback) -> {
+				if (!notification.getType().equals(GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION))
+					return;
+				GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+				// concurrent cycles run alongside the game; only the stop-the-world part is a pause
+				if (info.getGcName().contains("Concurrent") || info.getGcName().endsWith("Cycles"))
+					return;
+				record(GC_PAUSE, info.getGcInfo().getDuration() * 1_000_000L);
+			}, null, null);
+		}
+	}
+}
@@ -0,0 +1,147 @@
+package utilz;
+
+import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+
+import mainn.Game;
+
+// broadphase for hit and touch checks: items are bucketed by the tile columns
+// their hitbox spans, so a query only visits what is near it. levels are a
+// few tiles high and very wide, so columns alone do the job of a 2D grid.
+// clearing is a stamp bump rather than a sweep over every column, and queries
+// are iterated in place, so neither allocates. items are int ids chosen by the
+// caller, usually an index into its own arrays or list:
+//   hash.query(box); for (int id = hash.next(); id >= 0; id = hash.next()) ...
+// an item spanning several columns is returned once per query.
+public class SpatialHash {
+
+	private int columns;
+	private int[] head = new int[0];
+	private int[] headStamp = new int[0];
+	private int stamp = 1;
+
+	// bucket entries, chained per column
+	private int[] entryItem = new int[64];
+	private int[] entryNext = new int[64];
+	private int entryCount;
+
+	private int[] items = new int[32];
+	private float[] boundsX = new float[32], boundsY = new float[32], boundsW = new float[32], boundsH = new float[32];
+	private int[] seenStamp = new int[32];
+	private int itemCount;
+
+	// iteration state of the current query
+	private float areaX, areaY, areaW, areaH;
+	private int queryStamp;
+	private int column, lastColumn, entry = -1;
+
+	// sizes the hash for a level and empties it
+	public void reset(int tilesWide) {
+		columns = tilesWide;
+		if (head.length < columns) {
+			head = new int[columns];
+			headStamp = new int[columns];
+		}
+		clear();
+	}
+
+	public void clear() {
+		stamp++;
+		if (stamp == 0) {
+			Arrays.fill(headStamp, 0);
+			stamp = 1;
+		}
+		entryCount = 0;
+		itemCount = 0;
+	}
+
+	public void insert(int item, Rectangle2D.Float hitbox) {
+		insert(item, hitbox.x, hitbox.y, hitbox.width, hitbox.height);
+	}
+
+	// the bounds are copied, so items that move must be re-inserted after a clear
+	public void insert(int item, float x, float y, float width, float height) {
+		if (itemCount == items.length) {
+			items = Arrays.copyOf(items, itemCount * 2);
+			boundsX = Arrays.copyOf(boundsX, itemCount * 2);
+			boundsY = Arrays.copyOf(boundsY, itemCount * 2);
+			boundsW = Arrays.copyOf(boundsW, itemCount * 2);
+			boundsH = Arrays.copyOf(boundsH, itemCount * 2);
+			seenStamp = Arrays.copyOf(seenStamp, itemCount * 2);
+		}
+		int id = itemCount++;
+		items[id] = item;
+		boundsX[id] = x;
+		boundsY[id] = y;
+		boundsW[id] = width;
+		boundsH[id] = height;
+		seenStamp[id] = 0;
+
+		int first = ColumnOf(x, columns);
+		int last = ColumnOf(x + width, columns);
+		for (int c = first; c <= last; c++) {
+			if (entryCount == entryItem.length) {
+				entryItem = Arrays.copyOf(entryItem, entryCount * 2);
+				entryNext = Arrays.copyOf(entryNext, entryCount * 2);
+			}
+			entryItem[entryCount] = id;
+			entryNext[entryCount] = headStamp[c] == stamp ? head[c] : -1;
+			head[c] = entryCount;
+			headStamp[c] = stamp;
+			entryCount++;
+		}
+	}
+
+	private static int ColumnOf(float x, int columns) {
+		return Math.max(0, Math.min(columns - 1, (int) (x / Game.TILES_SIZE)));
+	}
+
+	public void query(Rectangle2D.Float area) {
+		query(area.x, area.y, area.width, area.height);
+	}
+
+	// starts iterating the items whose bounds intersect the area
+	public void query(float x, float y, float width, float height) {
+		areaX = x;
+		areaY = y;
+		areaW = width;
+		areaH = height;
+		queryStamp++;
+		if (queryStamp == 0) {
+			Arrays.fill(seenStamp, 0);
+			queryStamp = 1;
+		}
+		column = ColumnOf(x, columns);
+		lastColumn = ColumnOf(x + width, columns);
+		entry = headStamp.length > 0 && headStamp[column] == stamp ? head[column] : -1;
+	}
+
+	// the next item of the current query, or -1 when there are no more
+	public int next() {
+		while (true) {
+			while (entry < 0) {
+				if (++column > lastColumn)
+					return -1;
+				entry = headStamp[column] == stamp ? head[column] : -1;
+			}
+			int id = entryItem[entry];
+			entry = entryNext[entry];
+			if (seenStamp[id] == queryStamp)
+				continue;
+			seenStamp[id] = queryStamp;
+			if (Intersects(boundsX[id], boundsY[id], boundsW[id], boundsH[id], areaX, areaY, areaW, areaH))
+				return items[id];
+		}
+	}
+
+	// same test as Rectangle2D.intersects, which works in doubles
+	private static boolean Intersects(double x0, double y0, double w0, double h0, double x, double y, double w, double h) {
+		if (w0 <= 0 || h0 <= 0 || w <= 0 || h <= 0)
+			return false;
+		return x + w > x0 && y + h > y0 && x < x0 + w0 && y < y0 + h0;
+	}
+
+	public int size() {
+		return itemCount;
+	}
+}
@@ -0,0 +1,87 @@
+package utilz;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+
+// sprites converted once into compatible images at the size they are drawn,
+// so every draw is an unscaled blit instead of a scaled one out of whatever
+// pixel format the png was decoded into. sprites that are flipped with a
+// negative width when facing right get a mirrored copy: drawn at x, it covers
+// what the flipped draw at x + width, -width did.
+public class SpriteCache {
+
+	// atlas frames by path and sizes, shared by everything that asks for the same ones
+	private static final HashMap<String, BufferedImage[][]> FRAMES = new HashMap<>();
+
+	// an atlas of rows x cols cells, each cut out and scaled to drawW x drawH: [row][col]
+	public static synchronized BufferedImage[][] GetFrames(String atlas, int cols, int rows, int cellW, int cellH, int drawW, int drawH) {
+		String key = atlas + ":" + cols + "x" + rows + ":" + cellW + "x" + cellH + ":" + drawW + "x" + drawH;
+		BufferedImage[][] frames = FRAMES.get(key);
+		if (frames == null) {
+			BufferedImage img = LoadSave.GetSpriteAtlas(atlas);
+			frames = new BufferedImage[rows][cols];
+			for (int j = 0; j < rows; j++)
+				for (int i = 0; i < cols; i++)
+					frames[j][i] = Scale(img.getSubimage(i * cellW, j * cellH, cellW, cellH), drawW, drawH);
+			FRAMES.put(key, frames);
+		}
+		return frames;
+	}
+
+	// a single-frame atlas scaled to drawW x drawH
+	public static BufferedImage GetImage(String atlas, int drawW, int drawH) {
+		BufferedImage img = LoadSave.GetSpriteAtlas(atlas);
+		return GetFrames(atlas, 1, 1, img.getWidth(), img.getHeight(), drawW, drawH)[0][0];
+	}
+
+	public static BufferedImage Scale(BufferedImage src, int w, int h) {
+		BufferedImage img = LoadSave.CreateCompatibleImage(w, h);
+		Graphics2D g = img.createGraphics();
+		// what drawImage did when it scaled at draw time
+		g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+		g.drawImage(src, 0, 0, w, h, null);
+		g.dispose();
+		return img;
+	}
+
+	public static BufferedImage[] Scale(BufferedImage[] src, int w, int h) {
+		BufferedImage[] scaled = new BufferedImage[src.length];
+		for (int i = 0; i < src.length; i++)
+			if (src[i] != null)
+				scaled[i] = Scale(src[i], w, h);
+		return scaled;
+	}
+
+	public static BufferedImage[][] Scale(BufferedImage[][] src, int w, int h) {
+		BufferedImage[][] scaled = new BufferedImage[src.length][];
+		for (int j = 0; j < src.length; j++)
+			scaled[j] = src[j] == null ? null : Scale(src[j], w, h);
+		return scaled;
+	}
+
+	public static BufferedImage Mirror(BufferedImage src) {
+		int w = src.getWidth(), h = src.getHeight();
+		BufferedImage img = LoadSave.CreateCompatibleImage(w, h);
+		Graphics2D g = img.createGraphics();
+		g.drawImage(src, w, 0, -w, h, null);
+		g.dispose();
+		return img;
+	}
+
+	public static BufferedImage[] Mirror(BufferedImage[] src) {
+		BufferedImage[] mirrored = new BufferedImage[src.length];
+		for (int i = 0; i < src.length; i++)
+			if (src[i] != null)
+				mirrored[i] = Mirror(src[i]);
+		return mirrored;
+	}
+
+	public static BufferedImage[][] Mirror(BufferedImage[][] src) {
+		BufferedImage[][] mirrored = new BufferedImage[src.length][];
+		for (int j = 0; j < src.length; j++)
+			mirrored[j] = src[j] == null ? null : Mirror(src[j]);
+		return mirrored;
+	}
+}
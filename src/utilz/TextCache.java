@@ -0,0 +1,69 @@
+package utilz;
+
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.font.FontRenderContext;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+
+// fonts for the ui, each file read once through LoadSave.GetFont and each
+// style and size derived once, so nothing is created or looked up per frame.
+// a font file that can't be loaded falls back to Arial at the same size.
+// metrics are measured against a scratch image with the default rendering
+// hints, which are the ones the game draws text with.
+public class TextCache {
+
+	private static final String FALLBACK_FONT = "Arial";
+
+	// base fonts by file, null when the file couldn't be loaded
+	private static final HashMap<String, Font> BASE_FONTS = new HashMap<>();
+	// derived fonts by file or family, style and size
+	private static final HashMap<String, Font> FONTS = new HashMap<>();
+	private static final HashMap<Font, FontMetrics> METRICS = new HashMap<>();
+	private static Graphics2D scratch;
+
+	// a font file from /fonts at the given style and size
+	public static synchronized Font GetFont(String fileName, int style, float size) {
+		String key = fileName + ":" + style + ":" + size;
+		Font font = FONTS.get(key);
+		if (font == null) {
+			if (!BASE_FONTS.containsKey(fileName))
+				BASE_FONTS.put(fileName, LoadSave.GetFont(fileName));
+			Font base = BASE_FONTS.get(fileName);
+			font = base != null ? base.deriveFont(style, size) : new Font(FALLBACK_FONT, style, (int) size);
+			FONTS.put(key, font);
+		}
+		return font;
+	}
+
+	// an installed font family, such as Arial
+	public static synchronized Font GetSystemFont(String family, int style, int size) {
+		String key = "system:" + family + ":" + style + ":" + size;
+		Font font = FONTS.get(key);
+		if (font == null) {
+			font = new Font(family, style, size);
+			FONTS.put(key, font);
+		}
+		return font;
+	}
+
+	public static synchronized FontMetrics GetMetrics(Font font) {
+		FontMetrics fm = METRICS.get(font);
+		if (fm == null) {
+			fm = getScratch().getFontMetrics(font);
+			METRICS.put(font, fm);
+		}
+		return fm;
+	}
+
+	public static synchronized FontRenderContext GetRenderContext() {
+		return getScratch().getFontRenderContext();
+	}
+
+	private static Graphics2D getScratch() {
+		if (scratch == null)
+			scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+		return scratch;
+	}
+}
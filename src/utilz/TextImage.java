@@ -0,0 +1,95 @@
+package utilz;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.image.BufferedImage;
+
+// a string drawn once into an image and blitted from then on, for text that
+// changes rarely if at all: titles, the hud timer, leaderboard rows. setText
+// only lays out and renders again when the string is different. the image
+// covers the glyphs' pixel bounds, so draw takes the same baseline position
+// drawString would and puts the same pixels there.
+public class TextImage {
+
+	private final Font font;
+	private final Color color;
+	private String text;
+	private BufferedImage image;
+	// pixel bounds of the glyphs, relative to the baseline origin
+	private Rectangle bounds = new Rectangle();
+	private int advance;
+	private int renderCount;
+
+	public TextImage(Font font, Color color) {
+		this.font = font;
+		this.color = color;
+	}
+
+	public TextImage(Font font, Color color, String text) {
+		this(font, color);
+		setText(text);
+	}
+
+	// false if the text was already showing
+	public boolean setText(String text) {
+		if (text.equals(this.text))
+			return false;
+		this.text = text;
+		render();
+		return true;
+	}
+
+	private void render() {
+		FontRenderContext frc = TextCache.GetRenderContext();
+		GlyphVector glyphs = font.createGlyphVector(frc, text);
+		bounds = glyphs.getPixelBounds(frc, 0, 0);
+		advance = TextCache.GetMetrics(font).stringWidth(text);
+		renderCount++;
+		if (bounds.isEmpty()) {
+			image = null;
+			return;
+		}
+		image = LoadSave.CreateCompatibleImage(bounds.width, bounds.height);
+		Graphics2D g = image.createGraphics();
+		g.setColor(color);
+		g.drawGlyphVector(glyphs, -bounds.x, -bounds.y);
+		g.dispose();
+	}
+
+	// x, y is the baseline origin, as for drawString
+	public void draw(Graphics g, int x, int y) {
+		if (image != null)
+			g.drawImage(image, x + bounds.x, y + bounds.y, null);
+	}
+
+	public String getText() {
+		return text;
+	}
+
+	// what drawString would advance by, for centring
+	public int getWidth() {
+		return advance;
+	}
+
+	public int getAscent() {
+		return TextCache.GetMetrics(font).getAscent();
+	}
+
+	public int getDescent() {
+		return TextCache.GetMetrics(font).getDescent();
+	}
+
+	public int getHeight() {
+		return TextCache.GetMetrics(font).getHeight();
+	}
+
+	// times the text was laid out and drawn into the image
+	public int getRenderCount() {
+		return renderCount;
+	}
+}
@@ -0,0 +1,51 @@
+package utilz;
+
+import mainn.Game;
+
+// the visible slice of the level for the frame being drawn. renderers ask it
+// whether something is on screen before drawing, and it keeps count of what
+// was drawn versus culled so the numbers can be shown per frame.
+public class Viewport {
+
+	private int xLvlOffset;
+	private int drawn, culled;
+	private int lastDrawn, lastCulled;
+
+	public void beginFrame(int xLvlOffset) {
+		this.xLvlOffset = xLvlOffset;
+		lastDrawn = drawn;
+		lastCulled = culled;
+		drawn = 0;
+		culled = 0;
+	}
+
+	// world-space span; a negative width (mirrored sprite) extends to the left of x
+	public boolean isVisible(float x, float width) {
+		return isOnScreen(x - xLvlOffset, width);
+	}
+
+	// screen-space span, for parallax layers that scroll at their own rate
+	public boolean isOnScreen(float screenX, float width) {
+		float left = Math.min(screenX, screenX + width);
+		float right = Math.max(screenX, screenX + width);
+		if (right > 0 && left < Game.GAME_WIDTH) {
+			drawn++;
+			return true;
+		}
+		culled++;
+		return false;
+	}
+
+	public int getXLvlOffset() {
+		return xLvlOffset;
+	}
+
+	// counts for the last completed frame
+	public int getDrawnCount() {
+		return lastDrawn;
+	}
+
+	public int getCulledCount() {
+		return lastCulled;
+	}
+}